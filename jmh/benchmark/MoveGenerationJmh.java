@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.Move;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MoveGenerationJmh {
+
+    private final int[] moves = new int[Move.MAX_MOVES];
+    private ChessMatch match;
+
+    @Setup
+    public void setUp() {
+        match = new ChessMatch();
+        MoveGenerationBenchmark.play(match);
+    }
+
+    @Benchmark
+    public boolean[][] possibleMoves(PieceState state) {
+        return state.piece.possibleMoves();
+    }
+
+    @Benchmark
+    public int possibleMovesIntoBuffer(PieceState state) {
+        return state.piece.possibleMoves(moves, 0);
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        return match.generateMoves(moves);
+    }
+
+    @Benchmark
+    public int generateLegalMoves() {
+        return match.generateLegalMoves(moves);
+    }
+
+    @Benchmark
+    public long makeUnmakeMove() {
+        int count = match.generateMoves(moves);
+        long legal = 0;
+        for (int i = 0; i < count; i++) {
+            if (match.makeMove(moves[i])) {
+                match.unmakeMove();
+                legal++;
+            }
+        }
+        return legal;
+    }
+
+    @Benchmark
+    public int chessMove() {
+        ChessMatch m = new ChessMatch();
+        MoveGenerationBenchmark.play(m);
+        return m.getTurn();
+    }
+
+    @State(Scope.Thread)
+    public static class PieceState {
+
+        @Param({ "Pawn", "Knight", "Bishop", "Rook", "Queen", "King" })
+        public String type;
+
+        private ChessPiece piece;
+
+        @Setup
+        public void setUp() throws ClassNotFoundException {
+            ChessMatch match = new ChessMatch();
+            MoveGenerationBenchmark.play(match);
+            piece = MoveGenerationBenchmark.find(match.getPieces(), Class.forName("chess.pieces." + type));
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chess.ChessMatch;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftJmh {
+
+    @Param({ "0", "1", "2", "3", "4", "5" })
+    public int position;
+
+    @Param({ "4" })
+    public int depth;
+
+    private ChessMatch match;
+    private Perft perft;
+
+    @Setup
+    public void setUp() {
+        match = ChessMatch.fromFen(Perft.SUITE[position]);
+        perft = new Perft(depth);
+    }
+
+    @Benchmark
+    public long perft() {
+        return perft.perft(match, depth);
+    }
+
+}
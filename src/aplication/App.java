@@ -1,5 +1,7 @@
 package aplication;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
@@ -9,10 +11,19 @@ import chess.ChessException;
 import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.ChessPosition;
+import chess.Color;
+import chess.OpeningBook;
+import chess.engine.BookEngine;
+import chess.engine.Engine;
+import chess.engine.MonteCarloSearch;
+import chess.engine.Search;
+import chess.engine.SearchLimits;
 
 public class App {
+
+    private static final long ENGINE_TIME_MILLIS = 2000;
     
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
 
         Scanner sc = new Scanner(System.in);
 
@@ -20,13 +31,41 @@ public class App {
 
         List<ChessPiece> captured = new ArrayList<>();
 
-        while (!chessMatch.getCheckMate()) {
+        Engine engine = null;
+        if (args.length > 0 && args[0].equals("--engine")) {
+            engine = new Search();
+        } else if (args.length > 0 && args[0].equals("--mcts")) {
+            engine = new MonteCarloSearch();
+        }
+        if (engine != null && args.length > 2 && args[1].equals("--book")) {
+            engine = new BookEngine(OpeningBook.open(Path.of(args[2])), engine);
+        }
+
+        while (!chessMatch.getCheckMate() && !chessMatch.getDraw()) {
             try {
                 UI.clearScreen();
 
                 UI.printMatch(chessMatch, captured);
                 System.out.println();
 
+                if (engine != null && chessMatch.getPlayer() == Color.BLACK) {
+                    System.out.println("Thinking...");
+                    int move = engine.bestMove(chessMatch, SearchLimits.time(ENGINE_TIME_MILLIS)).getBestMove();
+                    ChessPiece capturedPiece = chessMatch.chessMove(move);
+                    if (capturedPiece != null) {
+                        captured.add(capturedPiece);
+                    }
+                    continue;
+                }
+
+                if (chessMatch.canClaimDraw()) {
+                    System.out.print("Claim a draw (y/n)? ");
+                    if (sc.nextLine().trim().equalsIgnoreCase("y")) {
+                        chessMatch.claimDraw();
+                        continue;
+                    }
+                }
+
                 System.out.print("Source: ");
                 ChessPosition to = UI.readChessPosition(sc);
 
@@ -0,0 +1,30 @@
+package aplication;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import chess.GameArchive;
+import chess.OpeningBookBuilder;
+
+public class BuildBook {
+
+    private static final int MAX_PLIES = 20;
+    private static final int MIN_WEIGHT = 2;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: BuildBook <archive> <book> [plies] [min weight]");
+            return;
+        }
+        int plies = (args.length > 2) ? Integer.parseInt(args[2]) : MAX_PLIES;
+        int minWeight = (args.length > 3) ? Integer.parseInt(args[3]) : MIN_WEIGHT;
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies, minWeight);
+        try (GameArchive archive = GameArchive.open(Path.of(args[0]))) {
+            builder.add(archive);
+            System.out.println(archive.size() + " games, " + builder.size() + " distinct moves");
+        }
+        builder.write(Path.of(args[1]));
+    }
+
+}
@@ -59,14 +59,19 @@ public class UI {
         System.out.println();
         System.out.println("Turn: " + chessMatch.getTurn());
 
-        if (!chessMatch.getCheckMate()) {
+        if (chessMatch.getStalemate()) {
+            System.out.println(ANSI_YELLOW + "Stalemate!" + ANSI_RESET);
+            System.out.println("Draw");
+        } else if (chessMatch.getDraw()) {
+            System.out.println(ANSI_YELLOW + "Draw!" + ANSI_RESET);
+        } else if (!chessMatch.getCheckMate()) {
             System.out.println("Waiting player: " + chessMatch.getPlayer());
             if (chessMatch.getCheck()) {
                 System.out.println(ANSI_RED + chessMatch.getPlayer() + " in Check!" + ANSI_RESET);
             }
         } else {
             System.out.println(ANSI_RED + "Check Mate!" + ANSI_RESET);
-            System.out.println("Winner: " + chessMatch.getPlayer());
+            System.out.println("Winner: " + ((chessMatch.getPlayer() == Color.WHITE) ? Color.BLACK : Color.WHITE));
         }
 
 
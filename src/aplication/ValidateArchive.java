@@ -0,0 +1,38 @@
+package aplication;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import chess.ArchiveValidator;
+import chess.GameArchive;
+import chess.ValidationReport;
+
+public class ValidateArchive {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: ValidateArchive <archive> [threads]");
+            return;
+        }
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (GameArchive archive = GameArchive.open(Path.of(args[0]))) {
+            ValidationReport report = new ArchiveValidator(pool).validate(archive);
+            for (String error : report.getErrors()) {
+                System.out.println(error);
+            }
+            System.out.println(report);
+            if (!report.isValid()) {
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.out.println(args[0] + ": " + e.getMessage());
+            System.exit(1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import chess.ChessMatch;
+import chess.FenPosition;
+import chess.FenReader;
+import chess.Move;
+
+public class FenLoading {
+
+    private static final int POSITIONS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Path file;
+        if (args.length > 0) {
+            file = Path.of(args[0]);
+        } else {
+            file = Files.createTempFile("positions", ".fen");
+            file.toFile().deleteOnExit();
+            write(file, POSITIONS);
+        }
+
+        FenPosition position = new FenPosition();
+        ChessMatch match = new ChessMatch();
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long count = 0;
+            long checksum = 0;
+            try (FenReader reader = new FenReader(file)) {
+                while (reader.next(position)) {
+                    count++;
+                    checksum += position.getHalfmoveClock();
+                }
+            }
+            long parsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            try (FenReader reader = new FenReader(file)) {
+                while (reader.next(position)) {
+                    match.load(position);
+                    checksum ^= match.getHash();
+                }
+            }
+            long loaded = System.nanoTime() - start;
+
+            System.out.printf("%d positions: parse %.0f/s, parse and load %.0f/s (%x)%n", count, count * 1e9 / parsed, count * 1e9 / loaded, checksum);
+        }
+    }
+
+    private static void write(Path file, int positions) throws IOException {
+        Random random = new Random(1);
+        int[] moves = new int[Move.MAX_MOVES];
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            int written = 0;
+            while (written < positions) {
+                ChessMatch match = new ChessMatch();
+                while (written < positions && !match.getCheckMate() && !match.getDraw()) {
+                    int count = match.generateLegalMoves(moves);
+                    match.chessMove(moves[random.nextInt(count)]);
+                    out.write(match.toFen());
+                    out.newLine();
+                    written++;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import chess.ChessException;
+import chess.ChessMatch;
+import chess.FenPosition;
+
+public class FenValidationCheck {
+
+    private static final String[] INVALID = {
+        "4k3/8/8/8/8/8/8/P3K3 w - - 0 1",
+        "p3k3/8/8/8/8/8/8/4K3 w - - 0 1",
+        "QQQQkQQQ/QQQQQQQQ/QQQQQQQQ/8/8/8/8/4K3 b - - 0 1",
+        "4k3/pppppppp/p7/8/8/8/8/4K3 w - - 0 1",
+        "4k3/8/8/8/8/8/8/4KK2 w - - 0 1",
+        "4k3/8/8/8/8/8/8/8 w - - 0 1",
+        "4k3/8/8/8/8/8/8/4K3 w - - 151 1",
+        "4k3/8/8/8/8/8/8/4K3 w - - 0 99999999999",
+        "4k3/8/8/8/8/8/3Pp3/4K3 w - e3 0 1",
+        "4k3/8/8/8/4Pp2/8/8/4K3 w - e3 0 1",
+        "4k3/8/8/3pP3/8/8/8/4K3 b - d6 0 1",
+        "4k3/8/8/3pP3/8/8/8/4K3 w - c6 0 1",
+        "4k3/3p4/8/3pP3/8/8/8/4K3 w - d6 0 1",
+        "4k3/8/8/8/8/8/8/4R1K1 w - - 0 1",
+    };
+
+    private static final String[] VALID = {
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+        "4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1",
+        "4k3/8/8/8/4Pp2/8/8/4K3 b - e3 0 1",
+        "4k3/8/8/8/8/8/8/4K3 w - - 150 1",
+    };
+
+    public static void main(String[] args) {
+        int failures = 0;
+        for (String fen : INVALID) {
+            String status;
+            try {
+                ChessMatch.fromFen(fen);
+                status = "FAILED (accepted)";
+                failures++;
+            } catch (ChessException e) {
+                status = "OK " + e.getMessage();
+            }
+            System.out.printf("%-60s %s%n", fen, status);
+        }
+        for (String fen : VALID) {
+            String status;
+            try {
+                String written = ChessMatch.fromFen(fen).toFen();
+                status = written.equals(fen) ? "OK" : "FAILED (written as " + written + ")";
+            } catch (ChessException e) {
+                status = "FAILED " + e.getMessage();
+            }
+            if (!status.equals("OK")) {
+                failures++;
+            }
+            System.out.printf("%-60s %s%n", fen, status);
+        }
+        ChessMatch match = ChessMatch.fromFen(VALID[1]);
+        String before = match.toFen();
+        long hash = match.getHash();
+        String status = "FAILED (accepted)";
+        try {
+            match.load(FenPosition.of(INVALID[INVALID.length - 1]));
+        } catch (ChessException e) {
+            boolean unchanged = match.toFen().equals(before) && match.getHash() == hash;
+            status = unchanged ? "OK" : "FAILED (match changed to " + match.toFen() + ")";
+        }
+        if (!status.equals("OK")) {
+            failures++;
+        }
+        System.out.printf("%-60s %s%n", "rejected load leaves the match unchanged", status);
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+}
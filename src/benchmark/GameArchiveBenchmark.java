@@ -0,0 +1,73 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import chess.ChessMatch;
+import chess.GameArchive;
+import chess.GameArchiveWriter;
+import chess.Move;
+import chess.PgnReader;
+
+public class GameArchiveBenchmark {
+
+    private static final int GAMES = 20_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Path pgn;
+        if (args.length > 0) {
+            pgn = Path.of(args[0]);
+        } else {
+            pgn = Files.createTempFile("games", ".pgn");
+            pgn.toFile().deleteOnExit();
+            RandomGames.writePgn(pgn, GAMES);
+        }
+
+        Path archive = Files.createTempFile("games", ".bin");
+        archive.toFile().deleteOnExit();
+        ChessMatch match = new ChessMatch();
+        try (PgnReader reader = new PgnReader(pgn); GameArchiveWriter writer = new GameArchiveWriter(archive)) {
+            while (reader.nextGame(match)) {
+                while (reader.nextMove() != Move.NONE) {
+                }
+                writer.write(match, reader.getResult());
+            }
+        }
+        System.out.printf("PGN: %d bytes, archive: %d bytes (%.1fx smaller)%n", Files.size(pgn), Files.size(archive), (double)Files.size(pgn) / Files.size(archive));
+
+        try (GameArchive games = GameArchive.open(archive)) {
+            Random random = new Random(1);
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                long moves = 0;
+                try (PgnReader reader = new PgnReader(pgn)) {
+                    while (reader.nextGame(match)) {
+                        while (reader.nextMove() != Move.NONE) {
+                            moves++;
+                        }
+                    }
+                }
+                long pgnTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (long game = 0; game < games.size(); game++) {
+                    games.replay(game, match);
+                }
+                long sequentialTime = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (long i = 0; i < games.size(); i++) {
+                    games.replay(random.nextInt((int)games.size()), match);
+                }
+                long randomTime = System.nanoTime() - start;
+
+                System.out.printf("PGN %.0f moves/s, archive %.0f moves/s sequential, %.0f games/s random access%n",
+                        moves * 1e9 / pgnTime, moves * 1e9 / sequentialTime, games.size() * 1e9 / randomTime);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package benchmark;
+
+import java.util.function.LongSupplier;
+
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.Color;
+import chess.Move;
+import chess.pieces.Bishop;
+import chess.pieces.King;
+import chess.pieces.Knight;
+import chess.pieces.Pawn;
+import chess.pieces.Queen;
+import chess.pieces.Rook;
+
+public class MoveGenerationBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int OPERATIONS = 200_000;
+
+    static final String[] OPENING = { "e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "f8c5", "d2d3", "d7d6", "c1g5", "h7h6" };
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        ChessMatch match = new ChessMatch();
+        play(match);
+
+        ChessPiece[][] pieces = match.getPieces();
+        Class<?>[] types = { Pawn.class, Knight.class, Bishop.class, Rook.class, Queen.class, King.class };
+        int[] moves = new int[Move.MAX_MOVES];
+
+        for (Class<?> type : types) {
+            ChessPiece piece = find(pieces, type);
+            String name = type.getSimpleName();
+            bench(name + ".possibleMoves()", () -> piece.possibleMoves().length);
+            bench(name + ".possibleMoves(int[], int)", () -> piece.possibleMoves(moves, 0));
+        }
+
+        bench("ChessMatch.generateMoves(int[])", () -> match.generateMoves(moves));
+        bench("ChessMatch.makeMove/unmakeMove", () -> {
+            int count = match.generateMoves(moves);
+            long legal = 0;
+            for (int i = 0; i < count; i++) {
+                if (match.makeMove(moves[i])) {
+                    match.unmakeMove();
+                    legal++;
+                }
+            }
+            return legal;
+        });
+        bench("ChessMatch.chessMove (" + OPENING.length + " moves from a new match)", () -> {
+            ChessMatch m = new ChessMatch();
+            play(m);
+            return m.getTurn();
+        });
+
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    static void play(ChessMatch match) {
+        for (String move : OPENING) {
+            match.chessMove(new ChessPosition(move.charAt(0), move.charAt(1) - '0'), new ChessPosition(move.charAt(2), move.charAt(3) - '0'));
+        }
+    }
+
+    static ChessPiece find(ChessPiece[][] pieces, Class<?> type) {
+        for (ChessPiece[] row : pieces) {
+            for (ChessPiece piece : row) {
+                if (piece != null && piece.getColor() == Color.WHITE && type.isInstance(piece)) {
+                    return piece;
+                }
+            }
+        }
+        throw new IllegalStateException("There is no white " + type.getSimpleName() + " on the board.");
+    }
+
+    private static void bench(String name, LongSupplier operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            measure(operation, OPERATIONS / 10);
+        }
+        double best = Double.MAX_VALUE;
+        double total = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            double nanos = measure(operation, OPERATIONS / 10);
+            best = Math.min(best, nanos);
+            total += nanos;
+        }
+        System.out.printf("%-60s %10.1f ns/op (best %.1f)%n", name, total / MEASURED_ROUNDS, best);
+    }
+
+    private static double measure(LongSupplier operation, int operations) {
+        long start = System.nanoTime();
+        long result = 0;
+        for (int i = 0; i < operations; i++) {
+            result += operation.getAsLong();
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += result;
+        return (double)elapsed / operations;
+    }
+
+}
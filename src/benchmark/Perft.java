@@ -0,0 +1,97 @@
+package benchmark;
+
+import chess.ChessMatch;
+import chess.FenPosition;
+import chess.Move;
+
+public class Perft {
+
+    private static final long[] INITIAL_POSITION = { 1, 20, 400, 8902, 197281, 4865609, 119060324 };
+
+    static final String[] SUITE = {
+        FenPosition.INITIAL,
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+        "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+        "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+    };
+
+    private static final long[][] SUITE_NODES = {
+        INITIAL_POSITION,
+        { 1, 48, 2039, 97862, 4085603, 193690690 },
+        { 1, 14, 191, 2812, 43238, 674624, 11030083 },
+        { 1, 6, 264, 9467, 422333, 15833292 },
+        { 1, 44, 1486, 62379, 2103487, 89941194 },
+        { 1, 46, 2079, 89890, 3894594, 164075551 },
+    };
+
+    private final int[][] buffers;
+
+    public Perft(int maxDepth) {
+        buffers = new int[maxDepth + 1][Move.MAX_MOVES];
+    }
+
+    public long perft(ChessMatch match, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] moves = buffers[depth];
+        int count = match.generateLegalMoves(moves);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            match.makeMove(moves[i]);
+            nodes += perft(match, depth - 1);
+            match.unmakeMove();
+        }
+        return nodes;
+    }
+
+    public void divide(ChessMatch match, int depth) {
+        int[] moves = buffers[depth];
+        int count = match.generateLegalMoves(moves);
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            match.makeMove(moves[i]);
+            long nodes = perft(match, depth - 1);
+            match.unmakeMove();
+            System.out.println(Move.toString(moves[i]) + ": " + nodes);
+            total += nodes;
+        }
+        System.out.println("Total: " + total);
+    }
+
+    public static void main(String[] args) {
+        int maxDepth = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+        Perft perft = new Perft(maxDepth);
+
+        if (args.length > 1 && args[1].equals("--suite")) {
+            for (int i = 0; i < SUITE.length; i++) {
+                System.out.println(SUITE[i]);
+                run(perft, ChessMatch.fromFen(SUITE[i]), maxDepth, SUITE_NODES[i]);
+            }
+            return;
+        }
+
+        System.out.println("Initial position");
+        run(perft, new ChessMatch(), maxDepth, INITIAL_POSITION);
+    }
+
+    private static void run(Perft perft, ChessMatch match, int maxDepth, long[] expected) {
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long start = System.nanoTime();
+            long nodes = perft.perft(match, depth);
+            long elapsed = Math.max(System.nanoTime() - start, 1);
+
+            String status = "";
+            if (expected != null && depth < expected.length) {
+                status = (nodes == expected[depth]) ? " OK" : " FAILED (expected " + expected[depth] + ")";
+            }
+            System.out.printf("depth %d: %d nodes, %.3f s, %d nps%s%n", depth, nodes, elapsed / 1e9, nodes * 1_000_000_000L / elapsed, status);
+        }
+    }
+
+}
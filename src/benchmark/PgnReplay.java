@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import chess.ChessMatch;
+import chess.Move;
+import chess.PgnReader;
+
+public class PgnReplay {
+
+    private static final int GAMES = 20_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Path file;
+        if (args.length > 0) {
+            file = Path.of(args[0]);
+        } else {
+            file = Files.createTempFile("games", ".pgn");
+            file.toFile().deleteOnExit();
+            RandomGames.writePgn(file, GAMES);
+        }
+        System.out.printf("%s: %d bytes%n", file, Files.size(file));
+
+        ChessMatch match = new ChessMatch();
+        Runtime runtime = Runtime.getRuntime();
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long moves = 0;
+            long games = 0;
+            try (PgnReader reader = new PgnReader(file)) {
+                while (reader.nextGame(match)) {
+                    while (reader.nextMove() != Move.NONE) {
+                        moves++;
+                    }
+                    games++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            long used = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+            System.out.printf("%d games, %d moves: %.0f games/s, %.0f moves/s, %d MB heap in use%n", games, moves, games * 1e9 / elapsed, moves * 1e9 / elapsed, used);
+        }
+    }
+
+}
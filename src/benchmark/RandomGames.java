@@ -0,0 +1,46 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import chess.ChessMatch;
+import chess.GameArchiveWriter;
+import chess.Move;
+import chess.PgnWriter;
+
+final class RandomGames {
+
+    private RandomGames() {
+    }
+
+    static ChessMatch play(Random random, int[] moves) {
+        ChessMatch match = new ChessMatch();
+        while (!match.getCheckMate() && !match.getDraw()) {
+            int count = match.generateLegalMoves(moves);
+            match.chessMove(moves[random.nextInt(count)]);
+        }
+        return match;
+    }
+
+    static void writePgn(Path file, int games) throws IOException {
+        Random random = new Random(1);
+        int[] moves = new int[Move.MAX_MOVES];
+        try (PgnWriter out = new PgnWriter(file)) {
+            for (int i = 0; i < games; i++) {
+                out.write(play(random, moves));
+            }
+        }
+    }
+
+    static void writeArchive(Path file, int games) throws IOException {
+        Random random = new Random(1);
+        int[] moves = new int[Move.MAX_MOVES];
+        try (GameArchiveWriter out = new GameArchiveWriter(file)) {
+            for (int i = 0; i < games; i++) {
+                out.write(play(random, moves));
+            }
+        }
+    }
+
+}
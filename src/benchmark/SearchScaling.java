@@ -0,0 +1,56 @@
+package benchmark;
+
+import chess.ChessMatch;
+import chess.ChessPosition;
+import chess.engine.ParallelSearch;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import chess.engine.TranspositionTable;
+
+public class SearchScaling {
+
+    private static final long TIME_MILLIS = 3000;
+    private static final int TABLE_MEGABYTES = 64;
+
+    private static final String[][] POSITIONS = {
+        {},
+        { "e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6", "b5a4", "g8f6", "e1g1" },
+        { "d2d4", "d7d5", "c2c4", "e7e6", "b1c3", "g8f6", "c1g5", "f8e7" },
+        { "e2e4", "c7c5", "g1f3", "d7d6", "d2d4", "c5d4", "f3d4", "g8f6", "b1c3", "a7a6" },
+    };
+
+    public static void main(String[] args) {
+        long timeMillis = (args.length > 0) ? Long.parseLong(args[0]) : TIME_MILLIS;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-8s %6s %14s %12s%n", "threads", "depth", "nodes", "nps");
+        for (int step = 1; ; step *= 2) {
+            int threads = Math.min(step, cores);
+            int depth = 0;
+            long nodes = 0;
+            long millis = 0;
+            try (ParallelSearch search = new ParallelSearch(threads, new TranspositionTable(TABLE_MEGABYTES))) {
+                for (String[] moves : POSITIONS) {
+                    search.getTable().clear();
+                    SearchResult result = search.bestMove(play(moves), SearchLimits.time(timeMillis));
+                    depth += result.getDepth();
+                    nodes += result.getNodes();
+                    millis += result.getElapsedMillis();
+                }
+            }
+            System.out.printf("%-8d %6.1f %14d %12d%n", threads, (double)depth / POSITIONS.length, nodes, nodes * 1000 / Math.max(1, millis));
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+
+    private static ChessMatch play(String[] moves) {
+        ChessMatch match = new ChessMatch();
+        for (String move : moves) {
+            match.chessMove(new ChessPosition(move.charAt(0), move.charAt(1) - '0'), new ChessPosition(move.charAt(2), move.charAt(3) - '0'));
+        }
+        return match;
+    }
+
+}
@@ -0,0 +1,49 @@
+package benchmark;
+
+import chess.ChessMatch;
+import chess.Move;
+
+public class StaticExchangeCheck {
+
+    private static final String[][] POSITIONS = {
+        { "1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1e5", "100" },
+        { "1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3e5", "-220" },
+        { "rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2", "e4d5", "0" },
+        { "r1bqkbnr/pppp1ppp/2n5/4p2Q/4P3/8/PPPP1PPP/RNB1KBNR w KQkq - 2 3", "h5e5", "-800" },
+        { "r1bqkbnr/pppp1ppp/2n5/4p2Q/4P3/8/PPPP1PPP/RNB1KBNR w KQkq - 2 3", "h5f7", "-800" },
+        { "r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4", "h5f7", "100" },
+        { "rnbqkbnr/pp1ppppp/2p5/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2", "f1b5", "-330" },
+        { "4k3/8/8/3p4/4P3/8/8/4K3 w - - 0 1", "e4d5", "100" },
+        { "4k3/8/5n2/3p4/4P3/8/8/4K3 w - - 0 1", "e4d5", "0" },
+        { "4k3/3r4/3r4/3p4/8/8/3R4/3RK3 w - - 0 1", "d2d5", "-400" },
+    };
+
+    public static void main(String[] args) {
+        int failures = 0;
+        int[] moves = new int[Move.MAX_MOVES];
+        for (String[] position : POSITIONS) {
+            ChessMatch match = ChessMatch.fromFen(position[0]);
+            int count = match.generateLegalMoves(moves);
+            int move = Move.NONE;
+            for (int i = 0; i < count; i++) {
+                if (Move.toString(moves[i]).equals(position[1])) {
+                    move = moves[i];
+                }
+            }
+            if (move == Move.NONE) {
+                throw new IllegalStateException(position[1] + " is not legal in " + position[0]);
+            }
+            int value = match.staticExchange(move);
+            int expected = Integer.parseInt(position[2]);
+            String status = (value == expected) ? "OK" : "FAILED (expected " + expected + ")";
+            if (value != expected) {
+                failures++;
+            }
+            System.out.printf("%-70s %s %6d %s%n", position[0], position[1], value, status);
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+}
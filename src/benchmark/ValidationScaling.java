@@ -0,0 +1,44 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import chess.ArchiveValidator;
+import chess.GameArchive;
+import chess.ValidationReport;
+
+public class ValidationScaling {
+
+    private static final int GAMES = 20_000;
+
+    public static void main(String[] args) throws IOException {
+        Path file;
+        if (args.length > 0) {
+            file = Path.of(args[0]);
+        } else {
+            file = Files.createTempFile("games", ".bin");
+            file.toFile().deleteOnExit();
+            RandomGames.writeArchive(file, GAMES);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        try (GameArchive archive = GameArchive.open(file)) {
+            new ArchiveValidator(ForkJoinPool.commonPool()).validate(archive);
+
+            System.out.printf("%-8s %10s %12s %12s%n", "threads", "games", "ms", "games/s");
+            for (int step = 1; ; step *= 2) {
+                int threads = Math.min(step, cores);
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                ValidationReport report = new ArchiveValidator(pool).validate(archive);
+                pool.shutdown();
+                System.out.printf("%-8d %10d %12d %12.0f%n", threads, report.getGames(), report.getElapsedMillis(), report.getGamesPerSecond());
+                if (threads == cores) {
+                    break;
+                }
+            }
+        }
+    }
+
+}
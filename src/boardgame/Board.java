@@ -1,10 +1,11 @@
 package boardgame;
 
 public class Board {
-    
+
     private int rows;
     private int columns;
-    private Piece[][] pieces;
+    private Piece[] pieces;
+    private Position[] positions;
 
     public Board(int rows, int columns) {
         if (rows < 1 || columns < 1) {
@@ -12,7 +13,11 @@ public class Board {
         }
         this.rows = rows;
         this.columns = columns;
-        pieces = new Piece[rows][columns];
+        pieces = new Piece[rows * columns];
+        positions = new Position[rows * columns];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new Position(i / columns, i % columns);
+        }
     }
 
     public int getRows() {
@@ -23,40 +28,62 @@ public class Board {
         return columns;
     }
 
+    public int square(int row, int column) {
+        return row * columns + column;
+    }
+
+    public int square(Position position) {
+        return square(position.getRow(), position.getColumn());
+    }
+
     public Piece piece(int row, int column) {
         if (!positionExists(row, column)) {
             throw new BoardException("Position not on the board");
         }
-        return pieces[row][column];
+        return pieces[square(row, column)];
     }
 
     public Piece piece(Position position) {
         if (!positionExists(position)) {
             throw new BoardException("Position not on the board");
         }
-        return pieces[position.getRow()][position.getColumn()];
+        return pieces[square(position)];
+    }
+
+    public Piece piece(int square) {
+        return pieces[square];
     }
 
     public void placePiece(Piece piece, Position position) {
         if (thereIsAPiece(position)) {
             throw new BoardException("There is already a piece on position " + position);
         }
-        pieces[position.getRow()][position.getColumn()] = piece;
-        piece.position = position;
+        placePiece(piece, square(position));
+    }
+
+    public void placePiece(Piece piece, int square) {
+        if (pieces[square] != null) {
+            throw new BoardException("There is already a piece on position " + positions[square]);
+        }
+        pieces[square] = piece;
+        piece.position = positions[square];
     }
 
     public Piece removePiece(Position position) {
         if (!positionExists(position)) {
             throw new BoardException("Position not on the board");
         }
+        return removePiece(square(position));
+    }
 
-        if (piece(position) == null) {
+    public Piece removePiece(int square) {
+        Piece removedPiece = pieces[square];
+        if (removedPiece == null) {
             return null;
         }
 
-        Piece removedPiece = piece(position);
         removedPiece.position = null;
-        pieces[position.getRow()][position.getColumn()] = null;
+        pieces[square] = null;
 
         return removedPiece;
     }
@@ -73,7 +100,11 @@ public class Board {
         if (!positionExists(position)) {
             throw new BoardException("Position not on the board");
         }
-        return piece(position) != null;
-    } 
+        return thereIsAPiece(square(position));
+    }
+
+    public boolean thereIsAPiece(int square) {
+        return pieces[square] != null;
+    }
 
 }
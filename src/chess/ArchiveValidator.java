@@ -0,0 +1,93 @@
+package chess;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ArchiveValidator {
+
+    private static final int LEAF_GAMES = 256;
+
+    private final ForkJoinPool pool;
+
+    public ArchiveValidator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ArchiveValidator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ValidationReport validate(GameArchive archive) {
+        long start = System.nanoTime();
+        ValidationReport report = pool.invoke(new ValidateTask(archive, 0, archive.size()));
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private static void validate(GameArchive archive, long game, ChessMatch match, ValidationReport report) {
+        String stored;
+        try {
+            archive.replay(game, match);
+            stored = archive.getResult(game);
+        } catch (ChessException e) {
+            report.addGame(0);
+            report.addIllegal(e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            report.addGame(0);
+            report.addIllegal("Game " + game + " could not be read: " + e);
+            return;
+        }
+        report.addGame(match.getPly());
+
+        String expected = finalResult(match);
+        if (expected != null && !expected.equals(stored)) {
+            report.addMismatch("Game " + game + " is recorded as " + stored + " but ends in " + expected);
+        }
+    }
+
+    private static String finalResult(ChessMatch match) {
+        Color player = match.getPlayer();
+        if (match.testCheckMate(player)) {
+            return (player == Color.WHITE) ? "0-1" : "1-0";
+        }
+        if (match.testStalemate(player) || match.isInsufficientMaterial()) {
+            return "1/2-1/2";
+        }
+        return null;
+    }
+
+    private static class ValidateTask extends RecursiveTask<ValidationReport> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient GameArchive archive;
+        private final long from;
+        private final long to;
+
+        ValidateTask(GameArchive archive, long from, long to) {
+            this.archive = archive;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ValidationReport compute() {
+            if (to - from <= LEAF_GAMES) {
+                ValidationReport report = new ValidationReport();
+                ChessMatch match = new ChessMatch();
+                for (long game = from; game < to; game++) {
+                    validate(archive, game, match, report);
+                }
+                return report;
+            }
+            long middle = (from + to) >>> 1;
+            ValidateTask left = new ValidateTask(archive, from, middle);
+            left.fork();
+            ValidationReport right = new ValidateTask(archive, middle, to).compute();
+            return left.join().merge(right);
+        }
+
+    }
+
+}
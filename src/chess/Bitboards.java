@@ -0,0 +1,221 @@
+package chess;
+
+public final class Bitboards {
+
+    public static final long ALL = -1L;
+    public static final long LIGHT_SQUARES = 0xAA55AA55AA55AA55L;
+
+    public static final long[] KNIGHT_ATTACKS = new long[64];
+    public static final long[] KING_ATTACKS = new long[64];
+    public static final long[][] PAWN_ATTACKS = new long[2][64];
+    public static final long[][] BETWEEN = new long[64][64];
+    public static final long[][] LINE = new long[64][64];
+
+    private static final int[][] KNIGHT_STEPS = { { -2, -1 }, { -2, 1 }, { 2, -1 }, { 2, 1 }, { 1, -2 }, { -1, -2 }, { 1, 2 }, { -1, 2 } };
+    private static final int[][] KING_STEPS = { { -1, 0 }, { 1, 0 }, { -1, -1 }, { 1, 1 }, { -1, 1 }, { 1, -1 }, { 0, -1 }, { 0, 1 } };
+    private static final int[][] ROOK_DIRECTIONS = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+    private static final int[][] BISHOP_DIRECTIONS = { { -1, -1 }, { 1, 1 }, { 1, -1 }, { -1, 1 } };
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final long[] ROOK_MAGICS = {
+            0x8080001020804000L, 0x0240400020001000L, 0xB100100820010040L, 0x5A00042200081140L,
+            0x18800A80A4001800L, 0x0300010018040002L, 0x1880010042000080L, 0x0100010000205082L,
+            0x0000800020804000L, 0x9040402000401002L, 0x8000808020001000L, 0x000A000822001044L,
+            0x000A002200481084L, 0x0800800200800400L, 0x6404000228015004L, 0x0041000082004100L,
+            0x0240008002984160L, 0x4270004000200040L, 0x4000808010002000L, 0x0050818010000800L,
+            0x6106020010080420L, 0x4018808002000400L, 0x32800400B0420801L, 0x0004020000638405L,
+            0x0048400080208008L, 0x0000400040201002L, 0x0060008380201000L, 0x0020100100200900L,
+            0x0004000808004080L, 0x0080040080800200L, 0x1E80500400416208L, 0x40110C0A0010A041L,
+            0x8620004000808000L, 0x0201008021004000L, 0x4050040800200020L, 0x0408008008801002L,
+            0x0000800400800800L, 0x0416800400800200L, 0x141001504400380AL, 0x0611000081002052L,
+            0x8000800040028020L, 0x8060201000404004L, 0x0000200100110042L, 0x0001001000090020L,
+            0x0044080100450010L, 0x0E49000400090002L, 0x0008911218040010L, 0x9188A040A4020001L,
+            0x8001804A11210200L, 0x2C00200040008480L, 0x8000402000110D00L, 0x8404080084100080L,
+            0x0008080080040080L, 0x2010020004008080L, 0x1401000200040100L, 0x0481208400410200L,
+            0x000601150121C082L, 0x0001008010400021L, 0x102001002822C013L, 0x0010006008845101L,
+            0x8202014820049002L, 0x0122000490010802L, 0x0006008248211004L, 0x0C0A0100804C2402L
+    };
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final long[][] ROOK_TABLE = new long[64][];
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final long[] BISHOP_MAGICS = {
+            0x2004A002004A0080L, 0x00482800C0820003L, 0x8808480050800000L, 0x0004104200040001L,
+            0x0004042000110120L, 0x0408440220003049L, 0x8402280208042200L, 0x0000210110012010L,
+            0x0202401181051100L, 0x00A0030408C20610L, 0x0119124800410000L, 0x0053041042000280L,
+            0x4000040420800410L, 0x02040110021080A2L, 0x0290064C42201042L, 0x3008058884500210L,
+            0x0040040802282210L, 0x0225011801041412L, 0x1008000108030411L, 0xC008001028222008L,
+            0x4005800400A06600L, 0x0001000090180108L, 0x081100C04D109000L, 0x040080402A011040L,
+            0x40600480A0842400L, 0x0030020010440101L, 0x002C010042080100L, 0x8C10040000440088L,
+            0x0000802002020040L, 0x1124080801008202L, 0x8040940080840402L, 0x10440820CA809400L,
+            0x1128084001080202L, 0x184A083200202A20L, 0x0032050400404040L, 0x4200020080880082L,
+            0x8040002021020080L, 0x0200B00102308088L, 0x0290008081020258L, 0x0009122322088400L,
+            0x4210A42008802040L, 0x0408680404611000L, 0x02C1001082001000L, 0x08003020110D0803L,
+            0x0220010722000400L, 0x2620C08100400201L, 0x8102C2241C101100L, 0x401002104C410100L,
+            0x00404104A0200004L, 0x50820B0908025000L, 0x4300820042088800L, 0xB4322012421A0002L,
+            0x5090001042020000L, 0x042442120C250080L, 0x4008020444042000L, 0x002A420801091282L,
+            0x8081040110821004L, 0x0200003088041000L, 0x0B06000042289012L, 0x2080001100421A00L,
+            0x080C420220042410L, 0x0080004210A20080L, 0x0830A22202021400L, 0x00212001084100C2L
+    };
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final long[][] BISHOP_TABLE = new long[64][];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = stepAttacks(square, KNIGHT_STEPS);
+            KING_ATTACKS[square] = stepAttacks(square, KING_STEPS);
+            PAWN_ATTACKS[Color.WHITE.ordinal()][square] = stepAttacks(square, new int[][] { { -1, -1 }, { -1, 1 } });
+            PAWN_ATTACKS[Color.BLACK.ordinal()][square] = stepAttacks(square, new int[][] { { 1, -1 }, { 1, 1 } });
+        }
+
+        for (int from = 0; from < 64; from++) {
+            for (int[] direction : ROOK_DIRECTIONS) {
+                initLines(from, direction);
+            }
+            for (int[] direction : BISHOP_DIRECTIONS) {
+                initLines(from, direction);
+            }
+        }
+
+        for (int square = 0; square < 64; square++) {
+            initMagic(square, ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_TABLE);
+            initMagic(square, BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_TABLE);
+        }
+    }
+
+    private Bitboards() {
+    }
+
+    public static int square(int row, int column) {
+        return row * 8 + column;
+    }
+
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    public static int column(int square) {
+        return square & 7;
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public static boolean contains(long bitboard, int square) {
+        return (bitboard & (1L << square)) != 0;
+    }
+
+    public static int first(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    public static int count(long bitboard) {
+        return Long.bitCount(bitboard);
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return ROOK_TABLE[square][(int)(((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return BISHOP_TABLE[square][(int)(((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for (int[] direction : directions) {
+            int row = row(square) + direction[0];
+            int column = column(square) + direction[1];
+            while (row >= 0 && row < 8 && column >= 0 && column < 8) {
+                int target = square(row, column);
+                attacks |= bit(target);
+                if (contains(occupied, target)) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static void initLines(int from, int[] direction) {
+        long ray = 0L;
+        int row = row(from) + direction[0];
+        int column = column(from) + direction[1];
+        while (row >= 0 && row < 8 && column >= 0 && column < 8) {
+            int to = square(row, column);
+            BETWEEN[from][to] = ray;
+            ray |= bit(to);
+            row += direction[0];
+            column += direction[1];
+        }
+
+        long backwards = 0L;
+        row = row(from) - direction[0];
+        column = column(from) - direction[1];
+        while (row >= 0 && row < 8 && column >= 0 && column < 8) {
+            backwards |= bit(square(row, column));
+            row -= direction[0];
+            column -= direction[1];
+        }
+
+        long line = ray | backwards | bit(from);
+        for (long targets = ray; targets != 0; targets &= targets - 1) {
+            LINE[from][first(targets)] = line;
+        }
+    }
+
+    private static void initMagic(int square, int[][] directions, long[] masks, long[] magics, int[] shifts, long[][] tables) {
+        long mask = relevantOccupancy(square, directions);
+        int bits = count(mask);
+        long[] table = new long[1 << bits];
+
+        long subset = 0L;
+        do {
+            int index = (int)((subset * magics[square]) >>> (64 - bits));
+            long attacks = slidingAttacks(square, subset, directions);
+            if (table[index] != 0 && table[index] != attacks) {
+                throw new IllegalStateException("Invalid magic number for square " + square);
+            }
+            table[index] = attacks;
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+
+        masks[square] = mask;
+        shifts[square] = 64 - bits;
+        tables[square] = table;
+    }
+
+    private static long relevantOccupancy(int square, int[][] directions) {
+        long mask = 0L;
+        for (int[] direction : directions) {
+            int row = row(square) + direction[0];
+            int column = column(square) + direction[1];
+            while (row + direction[0] >= 0 && row + direction[0] < 8 && column + direction[1] >= 0 && column + direction[1] < 8) {
+                mask |= bit(square(row, column));
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long stepAttacks(int square, int[][] steps) {
+        long attacks = 0L;
+        for (int[] step : steps) {
+            int row = row(square) + step[0];
+            int column = column(square) + step[1];
+            if (row >= 0 && row < 8 && column >= 0 && column < 8) {
+                attacks |= bit(square(row, column));
+            }
+        }
+        return attacks;
+    }
+
+}
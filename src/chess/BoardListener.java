@@ -0,0 +1,13 @@
+package chess;
+
+public interface BoardListener {
+
+    void pieceAdded(Color color, PieceType type, int square);
+
+    void pieceRemoved(Color color, PieceType type, int square);
+
+    void moveStarted();
+
+    void moveUndone();
+
+}
@@ -0,0 +1,168 @@
+package chess;
+
+import boardgame.Board;
+import boardgame.Piece;
+
+public class ChessBoard extends Board {
+
+    private long[] colorBitboards = new long[Color.values().length];
+    private long[] typeBitboards = new long[PieceType.values().length];
+    private long occupied;
+    private long hash;
+    private int midgame;
+    private int endgame;
+    private int phase;
+    private BoardListener listener;
+    private boolean undoing;
+
+    public ChessBoard() {
+        super(8, 8);
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public int getMidgame() {
+        return midgame;
+    }
+
+    public int getEndgame() {
+        return endgame;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public long getPieces(Color color) {
+        return colorBitboards[color.ordinal()];
+    }
+
+    public long getPieces(PieceType type) {
+        return typeBitboards[type.ordinal()];
+    }
+
+    public long getPieces(Color color, PieceType type) {
+        return colorBitboards[color.ordinal()] & typeBitboards[type.ordinal()];
+    }
+
+    public void setListener(BoardListener listener) {
+        this.listener = listener;
+    }
+
+    void beginMove() {
+        if (listener != null) {
+            listener.moveStarted();
+        }
+    }
+
+    void beginUndo() {
+        undoing = true;
+        if (listener != null) {
+            listener.moveUndone();
+        }
+    }
+
+    void endUndo() {
+        undoing = false;
+    }
+
+    @Override
+    public ChessPiece piece(int square) {
+        return (ChessPiece)super.piece(square);
+    }
+
+    @Override
+    public void placePiece(Piece piece, int square) {
+        super.placePiece(piece, square);
+        ChessPiece p = (ChessPiece)piece;
+        long bit = Bitboards.bit(square);
+        colorBitboards[p.getColor().ordinal()] |= bit;
+        typeBitboards[p.getType().ordinal()] |= bit;
+        occupied |= bit;
+        hash ^= Zobrist.piece(p.getColor(), p.getType(), square);
+        midgame += PieceSquareTables.midgame(p.getColor(), p.getType(), square);
+        endgame += PieceSquareTables.endgame(p.getColor(), p.getType(), square);
+        phase += PieceSquareTables.phase(p.getType());
+        if (listener != null && !undoing) {
+            listener.pieceAdded(p.getColor(), p.getType(), square);
+        }
+    }
+
+    @Override
+    public ChessPiece removePiece(int square) {
+        ChessPiece p = (ChessPiece)super.removePiece(square);
+        if (p != null) {
+            long mask = ~Bitboards.bit(square);
+            colorBitboards[p.getColor().ordinal()] &= mask;
+            typeBitboards[p.getType().ordinal()] &= mask;
+            occupied &= mask;
+            hash ^= Zobrist.piece(p.getColor(), p.getType(), square);
+            midgame -= PieceSquareTables.midgame(p.getColor(), p.getType(), square);
+            endgame -= PieceSquareTables.endgame(p.getColor(), p.getType(), square);
+            phase -= PieceSquareTables.phase(p.getType());
+            if (listener != null && !undoing) {
+                listener.pieceRemoved(p.getColor(), p.getType(), square);
+            }
+        }
+        return p;
+    }
+
+    @Override
+    public boolean thereIsAPiece(int square) {
+        return Bitboards.contains(occupied, square);
+    }
+
+    public long attackersTo(int square, long occupied) {
+        long bishops = typeBitboards[PieceType.BISHOP.ordinal()] | typeBitboards[PieceType.QUEEN.ordinal()];
+        long rooks = typeBitboards[PieceType.ROOK.ordinal()] | typeBitboards[PieceType.QUEEN.ordinal()];
+        long pawns = typeBitboards[PieceType.PAWN.ordinal()];
+        return (Bitboards.PAWN_ATTACKS[Color.BLACK.ordinal()][square] & pawns & colorBitboards[Color.WHITE.ordinal()])
+                | (Bitboards.PAWN_ATTACKS[Color.WHITE.ordinal()][square] & pawns & colorBitboards[Color.BLACK.ordinal()])
+                | (Bitboards.KNIGHT_ATTACKS[square] & typeBitboards[PieceType.KNIGHT.ordinal()])
+                | (Bitboards.KING_ATTACKS[square] & typeBitboards[PieceType.KING.ordinal()])
+                | (Bitboards.bishopAttacks(square, occupied) & bishops)
+                | (Bitboards.rookAttacks(square, occupied) & rooks);
+    }
+
+    public boolean isSquareAttacked(int square, Color byColor) {
+        return isSquareAttacked(square, byColor, occupied);
+    }
+
+    public boolean isSquareAttacked(int square, Color byColor, long occupied) {
+        long attackers = colorBitboards[byColor.ordinal()];
+        int defender = (byColor == Color.WHITE) ? Color.BLACK.ordinal() : Color.WHITE.ordinal();
+        if ((Bitboards.PAWN_ATTACKS[defender][square] & attackers & typeBitboards[PieceType.PAWN.ordinal()]) != 0) {
+            return true;
+        }
+        if ((Bitboards.KNIGHT_ATTACKS[square] & attackers & typeBitboards[PieceType.KNIGHT.ordinal()]) != 0) {
+            return true;
+        }
+        if ((Bitboards.KING_ATTACKS[square] & attackers & typeBitboards[PieceType.KING.ordinal()]) != 0) {
+            return true;
+        }
+        long queens = typeBitboards[PieceType.QUEEN.ordinal()];
+        long bishops = attackers & (typeBitboards[PieceType.BISHOP.ordinal()] | queens);
+        if (bishops != 0 && (Bitboards.bishopAttacks(square, occupied) & bishops) != 0) {
+            return true;
+        }
+        long rooks = attackers & (typeBitboards[PieceType.ROOK.ordinal()] | queens);
+        return rooks != 0 && (Bitboards.rookAttacks(square, occupied) & rooks) != 0;
+    }
+
+    public boolean[][] toMatrix(long bitboard) {
+        boolean[][] mat = new boolean[getRows()][getColumns()];
+        while (bitboard != 0) {
+            int square = Bitboards.first(bitboard);
+            mat[Bitboards.row(square)][Bitboards.column(square)] = true;
+            bitboard &= bitboard - 1;
+        }
+        return mat;
+    }
+
+}
@@ -1,34 +1,207 @@
 package chess;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
-import boardgame.Board;
-import boardgame.Piece;
 import boardgame.Position;
 import chess.pieces.*;
 
 public class ChessMatch {
 
+    static final int WHITE_KING_SIDE = 1;
+    static final int WHITE_QUEEN_SIDE = 2;
+    static final int BLACK_KING_SIDE = 4;
+    static final int BLACK_QUEEN_SIDE = 8;
+    private static final int[] CASTLING_MASKS = new int[64];
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int KING_EXCHANGE_VALUE = 20000;
+
+    private static final int HISTORY_CAPACITY = 1024;
+    private static final int PIECE_POOL_SIZE = 8;
+    private static final long MOVE_MASK = 0xFFFFFL;
+    private static final int CASTLING_SHIFT = 20;
+    private static final int EN_PASSANT_SHIFT = 24;
+    private static final int HALFMOVE_SHIFT = 31;
+    private static final int NO_SQUARE = 0x7F;
+    private static final long CHECK_FLAG = 1L << 63;
+    private static final long CHECKMATE_FLAG = 1L << 62;
+    private static final long STALEMATE_FLAG = 1L << 61;
+    private static final long DRAW_FLAG = 1L << 60;
+
+    static {
+        for (int i = 0; i < CASTLING_MASKS.length; i++) {
+            CASTLING_MASKS[i] = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+        }
+        CASTLING_MASKS[Bitboards.square(7, 4)] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        CASTLING_MASKS[Bitboards.square(7, 7)] &= ~WHITE_KING_SIDE;
+        CASTLING_MASKS[Bitboards.square(7, 0)] &= ~WHITE_QUEEN_SIDE;
+        CASTLING_MASKS[Bitboards.square(0, 4)] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        CASTLING_MASKS[Bitboards.square(0, 7)] &= ~BLACK_KING_SIDE;
+        CASTLING_MASKS[Bitboards.square(0, 0)] &= ~BLACK_QUEEN_SIDE;
+    }
+
     private int turn;
     private Color currentPlayer;
-    private Board board;
+    private ChessBoard board;
     private boolean check;
     private boolean checkMate;
+    private boolean stalemate;
+    private boolean draw;
     private ChessPiece enPassant;
     private ChessPiece promoted;
-
-    private List<Piece> piecesOnTheBoard = new ArrayList<>();
-    private List<Piece> capturedPieces = new ArrayList<>();
+    private int enPassantColumn = -1;
+    private int castlingRights;
+    private long stateHash;
+    private FenPosition startPosition;
+
+    private int halfmoveClock;
+
+    private PieceRegistry piecesOnTheBoard = new PieceRegistry();
+
+    private int[] moveBuffer = new int[Move.MAX_MOVES];
+    private int[] exchangeGains = new int[32];
+    private long[] stateHistory = new long[HISTORY_CAPACITY];
+    private long[] keyHistory = new long[HISTORY_CAPACITY];
+    private ChessPiece[] capturedHistory = new ChessPiece[HISTORY_CAPACITY];
+    private ChessPiece[] promotedPawnHistory = new ChessPiece[HISTORY_CAPACITY];
+    private ChessPiece[][][] piecePool = new ChessPiece[Color.values().length][PIECE_TYPES.length][PIECE_POOL_SIZE];
+    private int[][] piecePoolSize = new int[Color.values().length][PIECE_TYPES.length];
+    private int ply;
+    private int historyStart;
     
     public ChessMatch() {
-        board = new Board(8, 8);
+        board = new ChessBoard();
         turn = 1;
         currentPlayer = Color.WHITE;
+        castlingRights = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+        stateHash = Zobrist.castling(castlingRights);
         initialSetup();
     }
 
+    public ChessMatch(FenPosition position) {
+        board = new ChessBoard();
+        load(position);
+    }
+
+    public static ChessMatch fromFen(String fen) {
+        return new ChessMatch(FenPosition.of(fen));
+    }
+
+    public ChessMatch(ChessMatch other) {
+        board = new ChessBoard();
+        copyFrom(other);
+    }
+
+    public void copyFrom(ChessMatch other) {
+        clearBoard();
+        turn = other.turn;
+        currentPlayer = other.currentPlayer;
+        check = other.check;
+        checkMate = other.checkMate;
+        stalemate = other.stalemate;
+        draw = other.draw;
+        castlingRights = other.castlingRights;
+        halfmoveClock = other.halfmoveClock;
+        promoted = null;
+
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = other.board.piece(square);
+            if (piece != null) {
+                ChessPiece copy = pooledPiece(piece.getType(), piece.getColor());
+                copy.setMoveCount(piece.getMoveCount());
+                board.placePiece(copy, square);
+                piecesOnTheBoard.add(copy);
+            }
+        }
+
+        enPassant = (other.enPassant != null) ? board.piece(other.enPassant.getSquare()) : null;
+        enPassantColumn = other.enPassantColumn;
+        stateHash = other.stateHash;
+
+        while (stateHistory.length < other.ply) {
+            growHistory();
+        }
+        System.arraycopy(other.stateHistory, 0, stateHistory, 0, other.ply);
+        System.arraycopy(other.keyHistory, 0, keyHistory, 0, other.ply);
+        ply = other.ply;
+        historyStart = other.ply;
+        if (other.startPosition == null) {
+            startPosition = null;
+        } else {
+            if (startPosition == null) {
+                startPosition = new FenPosition();
+            }
+            startPosition.copyFrom(other.startPosition);
+        }
+    }
+
+    public void load(FenPosition position) {
+        position.validate();
+
+        clearBoard();
+
+        for (int square = 0; square < 64; square++) {
+            PieceType type = position.typeAt(square);
+            if (type != null) {
+                ChessPiece piece = pooledPiece(type, position.colorAt(square));
+                board.placePiece(piece, square);
+                piecesOnTheBoard.add(piece);
+            }
+        }
+
+        currentPlayer = position.getSideToMove();
+        turn = 2 * (position.getFullmoveNumber() - 1) + ((currentPlayer == Color.WHITE) ? 1 : 2);
+        castlingRights = position.getCastlingRights() & availableCastlingRights();
+        halfmoveClock = position.getHalfmoveClock();
+        stateHash = Zobrist.castling(castlingRights) ^ ((currentPlayer == Color.BLACK) ? Zobrist.side() : 0L);
+        enPassant = null;
+        enPassantColumn = -1;
+        int enPassantSquare = position.getEnPassantSquare();
+        if (enPassantSquare >= 0) {
+            ChessPiece pawn = board.piece(enPassantSquare - forward(currentPlayer));
+            if (pawn != null && pawn.getType() == PieceType.PAWN && pawn.getColor() != currentPlayer) {
+                setEnPassant(pawn);
+            }
+        }
+
+        promoted = null;
+        check = testCheck(currentPlayer);
+        testGameEnd();
+        startPosition = toFenPosition((startPosition != null) ? startPosition : new FenPosition());
+    }
+
+    private void clearBoard() {
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = board.removePiece(square);
+            if (piece != null) {
+                piecesOnTheBoard.remove(piece);
+                piece.setMoveCount(0);
+                releasePiece(piece);
+            }
+        }
+        Arrays.fill(capturedHistory, 0, ply, null);
+        Arrays.fill(promotedPawnHistory, 0, ply, null);
+        ply = 0;
+        historyStart = 0;
+    }
+
+    public String toFen() {
+        return toFenPosition(new FenPosition()).toString();
+    }
+
+    public FenPosition toFenPosition(FenPosition position) {
+        position.set(board, currentPlayer, castlingRights, enPassantSquare(), halfmoveClock, (turn + 1) / 2);
+        return position;
+    }
+
+    public FenPosition startPosition(FenPosition position) {
+        if (startPosition == null) {
+            position.parse(FenPosition.INITIAL);
+        } else {
+            position.copyFrom(startPosition);
+        }
+        return position;
+    }
+
     public int getTurn() {
         return turn;
     }
@@ -45,6 +218,21 @@ public class ChessMatch {
         return checkMate;
     }
 
+    public boolean getStalemate() {
+        return stalemate;
+    }
+
+    public boolean getDraw() {
+        return draw;
+    }
+
+    public String getResult() {
+        if (checkMate) {
+            return (currentPlayer == Color.WHITE) ? "0-1" : "1-0";
+        }
+        return draw ? "1/2-1/2" : "*";
+    }
+
     public ChessPiece getEnPassant() {
         return enPassant;
     }
@@ -53,6 +241,171 @@ public class ChessMatch {
         return promoted;
     }
 
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public boolean isFiftyMoveRule() {
+        return halfmoveClock >= 100;
+    }
+
+    public boolean isSeventyFiveMoveRule() {
+        return halfmoveClock >= 150;
+    }
+
+    public boolean isRepetition() {
+        return repetitions(1) >= 1;
+    }
+
+    public boolean isThreefoldRepetition() {
+        return repetitions(2) >= 2;
+    }
+
+    public boolean isFivefoldRepetition() {
+        return repetitions(4) >= 4;
+    }
+
+    public boolean canClaimDraw() {
+        return !checkMate && !draw && (isFiftyMoveRule() || isThreefoldRepetition());
+    }
+
+    public void claimDraw() {
+        if (!canClaimDraw()) {
+            throw new ChessException("There is no draw to claim.");
+        }
+        draw = true;
+    }
+
+    public boolean isInsufficientMaterial() {
+        if ((board.getPieces(PieceType.PAWN) | board.getPieces(PieceType.ROOK) | board.getPieces(PieceType.QUEEN)) != 0) {
+            return false;
+        }
+        long knights = board.getPieces(PieceType.KNIGHT);
+        long bishops = board.getPieces(PieceType.BISHOP);
+        if (Bitboards.count(knights | bishops) <= 1) {
+            return true;
+        }
+        return knights == 0 && ((bishops & Bitboards.LIGHT_SQUARES) == 0 || (bishops & ~Bitboards.LIGHT_SQUARES) == 0);
+    }
+
+    public int getPieceCount(Color color, PieceType type) {
+        return piecesOnTheBoard.count(color, type);
+    }
+
+    public PieceType pieceTypeAt(int square) {
+        ChessPiece piece = board.piece(square);
+        return (piece != null) ? piece.getType() : null;
+    }
+
+    public int staticExchange(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece piece = board.piece(from);
+        if (piece == null) {
+            throw new IllegalArgumentException("There is no piece on the source square of " + Move.toString(move));
+        }
+        if (Move.isCastle(move)) {
+            return 0;
+        }
+
+        int[] gain = exchangeGains;
+        long occupied = board.getOccupied() ^ Bitboards.bit(from);
+        PieceType attacker = piece.getType();
+        if (Move.flags(move) == Move.EN_PASSANT) {
+            occupied ^= Bitboards.bit(to + forward(opponent(piece.getColor())));
+            gain[0] = exchangeValue(PieceType.PAWN);
+        } else {
+            PieceType captured = pieceTypeAt(to);
+            gain[0] = (captured != null) ? exchangeValue(captured) : 0;
+        }
+        if (Move.isPromotion(move)) {
+            attacker = Move.promotion(move);
+            gain[0] += exchangeValue(attacker) - exchangeValue(PieceType.PAWN);
+        }
+
+        long diagonal = board.getPieces(PieceType.BISHOP) | board.getPieces(PieceType.QUEEN);
+        long straight = board.getPieces(PieceType.ROOK) | board.getPieces(PieceType.QUEEN);
+        long attackers = board.attackersTo(to, occupied) & occupied;
+        Color side = opponent(piece.getColor());
+        int depth = 0;
+        while (true) {
+            long own = attackers & board.getPieces(side);
+            if (own == 0) {
+                break;
+            }
+            PieceType next = PieceType.PAWN;
+            long candidates = 0;
+            for (PieceType type : PIECE_TYPES) {
+                candidates = own & board.getPieces(type);
+                if (candidates != 0) {
+                    next = type;
+                    break;
+                }
+            }
+            if (next == PieceType.KING && (attackers & board.getPieces(opponent(side))) != 0) {
+                break;
+            }
+
+            depth++;
+            gain[depth] = exchangeValue(attacker) - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                depth--;
+                break;
+            }
+
+            occupied ^= candidates & -candidates;
+            if (next == PieceType.PAWN || next == PieceType.BISHOP || next == PieceType.QUEEN) {
+                attackers |= Bitboards.bishopAttacks(to, occupied) & diagonal;
+            }
+            if (next == PieceType.ROOK || next == PieceType.QUEEN) {
+                attackers |= Bitboards.rookAttacks(to, occupied) & straight;
+            }
+            attackers &= occupied;
+            attacker = next;
+            side = opponent(side);
+        }
+
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    public int getMidgameScore() {
+        return board.getMidgame();
+    }
+
+    public int getEndgameScore() {
+        return board.getEndgame();
+    }
+
+    public int getPhase() {
+        return board.getPhase();
+    }
+
+    public void setBoardListener(BoardListener listener) {
+        board.setListener(listener);
+    }
+
+    public long getHash() {
+        return board.getHash() ^ stateHash;
+    }
+
+    public boolean isSquareAttacked(ChessPosition position, Color byColor) {
+        return board.isSquareAttacked(board.square(position.toPosition()), byColor);
+    }
+
+    public boolean canCastle(Color color, boolean kingSide) {
+        int right;
+        if (color == Color.WHITE) {
+            right = kingSide ? WHITE_KING_SIDE : WHITE_QUEEN_SIDE;
+        } else {
+            right = kingSide ? BLACK_KING_SIDE : BLACK_QUEEN_SIDE;
+        }
+        return (castlingRights & right) != 0;
+    }
+
     public ChessPiece[][] getPieces() {
 
         ChessPiece[][] mat = new ChessPiece[board.getRows()][board.getColumns()];
@@ -73,46 +426,130 @@ public class ChessMatch {
         return board.piece(position).possibleMoves();
     }
 
-    public ChessPiece chessMove(ChessPosition toPosition, ChessPosition fromPosition) {
-        Position to = toPosition.toPosition();
-        Position from = fromPosition.toPosition();
+    public int possibleMoves(ChessPosition sourcePosition, int[] moves) {
+        Position position = sourcePosition.toPosition();
+        validateSoucePosition(position);
+        return board.piece(board.square(position)).possibleMoves(moves, 0);
+    }
+
+    public int generateLegalMoves(int[] moves) {
+        return MoveGenerator.generateLegalMoves(board, currentPlayer, castlingRights, enPassantSquare(), moves);
+    }
 
-        validateSoucePosition(to);
-        validateTargetPosition(to, from);
+    public int generateTacticalMoves(int[] moves) {
+        return MoveGenerator.generateLegalMoves(board, currentPlayer, castlingRights, enPassantSquare(), moves, MoveGenerator.TACTICAL);
+    }
 
-        Piece captured = move(to, from);
+    public int generateQuietMoves(int[] moves) {
+        return MoveGenerator.generateLegalMoves(board, currentPlayer, castlingRights, enPassantSquare(), moves, MoveGenerator.QUIET);
+    }
 
-        if (testCheck(currentPlayer)) {
-            undoMove(to, from, captured);
-            throw new ChessException("You can not put yourself in check");
+    public boolean isLegal(int move) {
+        if (move == Move.NONE) {
+            return false;
         }
+        ChessPiece piece = board.piece(Move.from(move));
+        if (piece == null || piece.getColor() != currentPlayer) {
+            return false;
+        }
+        int count = piece.possibleMoves(moveBuffer, 0);
+        for (int i = 0; i < count; i++) {
+            if (moveBuffer[i] == move) {
+                return MoveGenerator.isLegal(board, currentPlayer, enPassantSquare(), move);
+            }
+        }
+        return false;
+    }
 
-        ChessPiece movedPiece = (ChessPiece)board.piece(from);
-
-        promoted = null;
-        if (movedPiece instanceof Pawn) {
-            if (movedPiece.getColor() == Color.WHITE && from.getRow() == 0 || movedPiece.getColor() == Color.BLACK && from.getRow() == 7) {
-                promoted = (ChessPiece)board.piece(from);
-                promoted = replacePromotedPiece("Q");
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        for (PieceType type : PIECE_TYPES) {
+            for (int i = 0; i < piecesOnTheBoard.count(currentPlayer, type); i++) {
+                count = piecesOnTheBoard.get(currentPlayer, type, i).possibleMoves(moves, count);
             }
         }
+        return count;
+    }
 
-        check = (testCheck(opponent(currentPlayer))) ? true : false;
+    public ChessPiece chessMove(ChessPosition toPosition, ChessPosition fromPosition) {
+        MoveStatus status = tryMove(board.square(toPosition.toPosition()), board.square(fromPosition.toPosition()));
+        if (status != MoveStatus.OK) {
+            throw new ChessException(status.getMessage());
+        }
+        return lastCaptured();
+    }
 
-        if (testCheck(opponent(currentPlayer))) {
-            checkMate = true;
-        } else {
-            nextTurn();
+    public ChessPiece chessMove(int move) {
+        MoveStatus status = tryMove(move);
+        if (status != MoveStatus.OK) {
+            throw new ChessException(status.getMessage());
         }
+        return lastCaptured();
+    }
 
-        if (movedPiece instanceof Pawn && from.getRow() == to.getRow() - 2 || from.getRow() == to.getRow() + 2) {
-            enPassant = movedPiece;
-        } else {
-            enPassant = null;
+    public MoveStatus tryMove(int source, int target) {
+        return tryMove(source, target, PieceType.QUEEN);
+    }
+
+    public MoveStatus tryMove(int source, int target, PieceType promotion) {
+        if (source < 0 || source >= 64 || target < 0 || target >= 64) {
+            return MoveStatus.INVALID_SQUARE;
+        }
+        MoveStatus status = sourceStatus(source);
+        if (status != MoveStatus.OK) {
+            return status;
+        }
+        int count = board.piece(source).possibleMoves(moveBuffer, 0);
+        for (int i = 0; i < count; i++) {
+            int move = moveBuffer[i];
+            if (Move.to(move) == target && (!Move.isPromotion(move) || Move.promotion(move) == promotion)) {
+                return play(move);
+            }
         }
+        return MoveStatus.ILLEGAL_TARGET;
+    }
 
-        return (ChessPiece)captured;
+    public MoveStatus tryMove(int move) {
+        int source = Move.from(move);
+        MoveStatus status = sourceStatus(source);
+        if (status != MoveStatus.OK) {
+            return status;
+        }
+        int count = board.piece(source).possibleMoves(moveBuffer, 0);
+        for (int i = 0; i < count; i++) {
+            if (moveBuffer[i] == move) {
+                return play(move);
+            }
+        }
+        return MoveStatus.ILLEGAL_TARGET;
+    }
+
+    private MoveStatus play(int move) {
+        if (!makeMove(move)) {
+            return MoveStatus.SELF_CHECK;
+        }
 
+        promoted = Move.isPromotion(move) ? board.piece(Move.to(move)) : null;
+        testGameEnd();
+
+        return MoveStatus.OK;
+    }
+
+    private MoveStatus sourceStatus(int source) {
+        if (checkMate || draw) {
+            return MoveStatus.GAME_OVER;
+        }
+        ChessPiece piece = board.piece(source);
+        if (piece == null) {
+            return MoveStatus.NO_PIECE;
+        }
+        if (piece.getColor() != currentPlayer) {
+            return MoveStatus.NOT_YOUR_PIECE;
+        }
+        if (!piece.isThereAnyPossibleMove()) {
+            return MoveStatus.NO_POSSIBLE_MOVES;
+        }
+        return MoveStatus.OK;
     }
 
     public ChessPiece replacePromotedPiece(String piece) {
@@ -123,111 +560,281 @@ public class ChessMatch {
             return promoted;
         }
 
-        Position pos = promoted.getChessPosition().toPosition();
-        Piece p = board.removePiece(pos);
+        int square = promoted.getSquare();
+        ChessPiece p = board.removePiece(square);
         piecesOnTheBoard.remove(p);
 
-        ChessPiece newPiece = newPiece(piece, promoted.getColor());
-        board.placePiece(newPiece, pos);
+        ChessPiece newPiece = newPiece(promotionType(piece), promoted.getColor());
+        board.placePiece(newPiece, square);
         piecesOnTheBoard.add(newPiece);
 
+        int move = lastMove();
+        stateHistory[ply - 1] = (stateHistory[ply - 1] & ~MOVE_MASK) | Move.of(Move.from(move), Move.to(move), Move.flags(move), newPiece.getType());
+
+        check = testCheck(currentPlayer);
+        testGameEnd();
+
         return newPiece;
 
     }
 
-    private ChessPiece newPiece(String piece, Color color) {
-        if (piece.equals("B")) return new Bishop(board, color);
-        if (piece.equals("H")) return new Knight(board, color);
-        if (piece.equals("R")) return new Rook(board, color);
-        return new Queen(board, color);
+    public boolean makeMove(int move) {
+        Color mover = currentPlayer;
+        doMove(move);
+        if (testCheck(mover)) {
+            undoLastMove();
+            return false;
+        }
+        check = testCheck(currentPlayer);
+        return true;
+    }
+
+    public void unmakeMove() {
+        if (ply == historyStart) {
+            throw new IllegalStateException("There is no move to undo.");
+        }
+        undoLastMove();
+    }
+
+    public int lastMove() {
+        return (ply > 0) ? (int)(stateHistory[ply - 1] & MOVE_MASK) : Move.NONE;
+    }
+
+    public ChessPiece lastCaptured() {
+        return (ply > 0) ? capturedHistory[ply - 1] : null;
     }
 
-    private Piece move(Position to, Position from) {
-        ChessPiece p = (ChessPiece)board.removePiece(to);
-        p.increaseMoveCount();
-        Piece captured = board.removePiece(from);
+    public int getPly() {
+        return ply;
+    }
 
-        board.placePiece(p, from);
+    public int moveAt(int ply) {
+        if (ply < 0 || ply >= this.ply) {
+            throw new IllegalArgumentException("There is no move at ply " + ply);
+        }
+        return (int)(stateHistory[ply] & MOVE_MASK);
+    }
+
+    public long hashAt(int ply) {
+        if (ply < 0 || ply > this.ply) {
+            throw new IllegalArgumentException("There is no position at ply " + ply);
+        }
+        return (ply == this.ply) ? getHash() : keyHistory[ply];
+    }
+
+    char checkMark(int move) {
+        doMove(move);
+        char mark = 0;
+        if (testCheck(currentPlayer)) {
+            mark = MoveGenerator.hasLegalMove(board, currentPlayer, enPassantSquare()) ? '+' : '#';
+        }
+        undoLastMove();
+        return mark;
+    }
 
+    private void doMove(int move) {
+        if (ply == stateHistory.length) {
+            growHistory();
+        }
+        board.beginMove();
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+
+        stateHistory[ply] = move
+                | ((long)castlingRights << CASTLING_SHIFT)
+                | ((long)((enPassant != null) ? enPassant.getSquare() : NO_SQUARE) << EN_PASSANT_SHIFT)
+                | ((long)halfmoveClock << HALFMOVE_SHIFT)
+                | (check ? CHECK_FLAG : 0L)
+                | (checkMate ? CHECKMATE_FLAG : 0L)
+                | (stalemate ? STALEMATE_FLAG : 0L)
+                | (draw ? DRAW_FLAG : 0L);
+        keyHistory[ply] = getHash();
+        checkMate = false;
+        stalemate = false;
+        draw = false;
+
+        ChessPiece piece = board.removePiece(from);
+        Color color = piece.getColor();
+        boolean pawnMove = piece.getType() == PieceType.PAWN;
+        piece.increaseMoveCount();
+
+        ChessPiece captured = board.removePiece((flags == Move.EN_PASSANT) ? to + forward(opponent(color)) : to);
         if (captured != null) {
             piecesOnTheBoard.remove(captured);
-            capturedPieces.add(captured);
         }
+        capturedHistory[ply] = captured;
 
-        if (p instanceof King && from.getColumn() == to.getColumn() + 2) {
-            Position toRook = new Position(to.getRow(), to.getColumn() + 3);
-            Position fromRook = new Position(to.getRow(), to.getColumn() + 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(toRook);
-            board.placePiece(rook, fromRook);
-            rook.increaseMoveCount();
+        if (Move.isPromotion(move)) {
+            piecesOnTheBoard.remove(piece);
+            promotedPawnHistory[ply] = piece;
+            piece = pooledPiece(Move.promotion(move), color);
+            piecesOnTheBoard.add(piece);
         }
+        board.placePiece(piece, to);
 
-        if (p instanceof King && from.getColumn() == to.getColumn() - 2) {
-            Position toRook = new Position(to.getRow(), to.getColumn() - 4);
-            Position fromRook = new Position(to.getRow(), to.getColumn() - 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(toRook);
-            board.placePiece(rook, fromRook);
-            rook.increaseMoveCount();
+        if (flags == Move.KING_CASTLE) {
+            moveRook(to + 1, to - 1, true);
+        } else if (flags == Move.QUEEN_CASTLE) {
+            moveRook(to - 2, to + 1, true);
         }
 
-        if (p instanceof Pawn) {
-            if (to.getColumn() != from.getColumn() && captured == null) {
-                Position pawnPosition;
-                if (p.getColor() == Color.WHITE) {
-                    pawnPosition = new Position(from.getRow() + 1, from.getColumn());
-                } else {
-                    pawnPosition = new Position(from.getRow() - 1, from.getColumn());
-                }
-                captured = board.removePiece(pawnPosition);
-                capturedPieces.add(captured);
-                piecesOnTheBoard.remove(captured);
-            }
+        setCastlingRights(castlingRights & CASTLING_MASKS[from] & CASTLING_MASKS[to]);
+        halfmoveClock = (pawnMove || captured != null) ? 0 : halfmoveClock + 1;
+        setEnPassant((flags == Move.DOUBLE_PAWN_PUSH) ? piece : null);
+        ply++;
+        nextTurn();
+    }
+
+    private void undoLastMove() {
+        board.beginUndo();
+        ply--;
+        turn--;
+        currentPlayer = opponent(currentPlayer);
+
+        long state = stateHistory[ply];
+        int move = (int)(state & MOVE_MASK);
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+
+        if (flags == Move.KING_CASTLE) {
+            moveRook(to - 1, to + 1, false);
+        } else if (flags == Move.QUEEN_CASTLE) {
+            moveRook(to + 1, to - 2, false);
         }
 
-        return captured;
+        ChessPiece piece = board.removePiece(to);
+        ChessPiece pawn = promotedPawnHistory[ply];
+        if (pawn != null) {
+            piecesOnTheBoard.remove(piece);
+            releasePiece(piece);
+            piece = pawn;
+            piecesOnTheBoard.add(piece);
+            promotedPawnHistory[ply] = null;
+        }
+        piece.decreaseMoveCount();
+        board.placePiece(piece, from);
+
+        ChessPiece captured = capturedHistory[ply];
+        if (captured != null) {
+            board.placePiece(captured, (flags == Move.EN_PASSANT) ? to + forward(captured.getColor()) : to);
+            piecesOnTheBoard.add(captured);
+            capturedHistory[ply] = null;
+        }
+
+        castlingRights = (int)(state >>> CASTLING_SHIFT) & 0xF;
+        int enPassantSquare = (int)(state >>> EN_PASSANT_SHIFT) & NO_SQUARE;
+        enPassant = (enPassantSquare != NO_SQUARE) ? board.piece(enPassantSquare) : null;
+        enPassantColumn = (enPassant != null) ? Bitboards.column(enPassantSquare) : -1;
+        halfmoveClock = (int)(state >>> HALFMOVE_SHIFT) & 0xFFFF;
+        check = (state & CHECK_FLAG) != 0;
+        checkMate = (state & CHECKMATE_FLAG) != 0;
+        stalemate = (state & STALEMATE_FLAG) != 0;
+        draw = (state & DRAW_FLAG) != 0;
+        stateHash = keyHistory[ply] ^ board.getHash();
+        board.endUndo();
     }
 
-    private void undoMove(Position to, Position from, Piece capturedPiece) {
-        ChessPiece p = (ChessPiece)board.removePiece(from);
-        p.decreaseMoveCount();
-        board.placePiece(p, to);
+    private static int exchangeValue(PieceType type) {
+        return (type == PieceType.KING) ? KING_EXCHANGE_VALUE : type.getValue();
+    }
 
-        if (capturedPiece != null) {
-            board.placePiece(capturedPiece, from);
-            capturedPieces.remove(capturedPiece);
-            piecesOnTheBoard.add(capturedPiece);
+    private void moveRook(int from, int to, boolean forward) {
+        ChessPiece rook = board.removePiece(from);
+        board.placePiece(rook, to);
+        if (forward) {
+            rook.increaseMoveCount();
+        } else {
+            rook.decreaseMoveCount();
         }
+    }
 
-        if (p instanceof King && from.getColumn() == to.getColumn() + 2) {
-            Position toRook = new Position(to.getRow(), to.getColumn() + 3);
-            Position fromRook = new Position(to.getRow(), to.getColumn() + 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(fromRook);
-            board.placePiece(rook, toRook);
-            rook.decreaseMoveCount();
+    private ChessPiece pooledPiece(PieceType type, Color color) {
+        int size = piecePoolSize[color.ordinal()][type.ordinal()];
+        if (size > 0) {
+            piecePoolSize[color.ordinal()][type.ordinal()] = --size;
+            ChessPiece piece = piecePool[color.ordinal()][type.ordinal()][size];
+            piecePool[color.ordinal()][type.ordinal()][size] = null;
+            return piece;
         }
+        return newPiece(type, color);
+    }
 
-        if (p instanceof King && from.getColumn() == to.getColumn() - 2) {
-            Position toRook = new Position(to.getRow(), to.getColumn() - 4);
-            Position fromRook = new Position(to.getRow(), to.getColumn() - 1);
-            ChessPiece rook = (ChessPiece)board.removePiece(fromRook);
-            board.placePiece(rook, toRook);
-            rook.decreaseMoveCount();
+    private void releasePiece(ChessPiece piece) {
+        int color = piece.getColor().ordinal();
+        int type = piece.getType().ordinal();
+        if (piece.getMoveCount() == 0 && piecePoolSize[color][type] < PIECE_POOL_SIZE) {
+            piecePool[color][type][piecePoolSize[color][type]++] = piece;
         }
+    }
 
-        if (p instanceof Pawn) {
-            if (to.getColumn() != from.getColumn() && capturedPiece == enPassant) {
-                ChessPiece pawn = (ChessPiece)board.removePiece(from);
-                Position pawnPosition;
-                if (p.getColor() == Color.WHITE) {
-                    pawnPosition = new Position(3, from.getColumn());
-                } else {
-                    pawnPosition = new Position(4, from.getColumn());
-                }
+    private void growHistory() {
+        int capacity = stateHistory.length * 2;
+        stateHistory = Arrays.copyOf(stateHistory, capacity);
+        keyHistory = Arrays.copyOf(keyHistory, capacity);
+        capturedHistory = Arrays.copyOf(capturedHistory, capacity);
+        promotedPawnHistory = Arrays.copyOf(promotedPawnHistory, capacity);
+    }
 
-                board.placePiece(pawn, pawnPosition);
+    private ChessPiece newPiece(PieceType type, Color color) {
+        if (type == PieceType.PAWN) return new Pawn(board, color, this);
+        if (type == PieceType.KING) return new King(board, color, this);
+        if (type == PieceType.BISHOP) return new Bishop(board, color);
+        if (type == PieceType.KNIGHT) return new Knight(board, color);
+        if (type == PieceType.ROOK) return new Rook(board, color);
+        return new Queen(board, color);
+    }
 
-            }
+    private static PieceType promotionType(String piece) {
+        if (piece.equals("B")) return PieceType.BISHOP;
+        if (piece.equals("H")) return PieceType.KNIGHT;
+        if (piece.equals("R")) return PieceType.ROOK;
+        return PieceType.QUEEN;
+    }
+
+    private void setEnPassant(ChessPiece pawn) {
+        if (enPassantColumn >= 0) {
+            stateHash ^= Zobrist.enPassant(enPassantColumn);
+        }
+        enPassant = pawn;
+        enPassantColumn = (pawn != null) ? Bitboards.column(pawn.getSquare()) : -1;
+        if (enPassantColumn >= 0) {
+            stateHash ^= Zobrist.enPassant(enPassantColumn);
+        }
+    }
+
+    int enPassantSquare() {
+        if (enPassant == null) {
+            return -1;
+        }
+        return enPassant.getSquare() - forward(enPassant.getColor());
+    }
+
+    private void setCastlingRights(int rights) {
+        stateHash ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(rights);
+        castlingRights = rights;
+    }
+
+    private int availableCastlingRights() {
+        int rights = 0;
+        if (isPieceAt(Bitboards.square(7, 4), Color.WHITE, PieceType.KING)) {
+            if (isPieceAt(Bitboards.square(7, 7), Color.WHITE, PieceType.ROOK)) rights |= WHITE_KING_SIDE;
+            if (isPieceAt(Bitboards.square(7, 0), Color.WHITE, PieceType.ROOK)) rights |= WHITE_QUEEN_SIDE;
+        }
+        if (isPieceAt(Bitboards.square(0, 4), Color.BLACK, PieceType.KING)) {
+            if (isPieceAt(Bitboards.square(0, 7), Color.BLACK, PieceType.ROOK)) rights |= BLACK_KING_SIDE;
+            if (isPieceAt(Bitboards.square(0, 0), Color.BLACK, PieceType.ROOK)) rights |= BLACK_QUEEN_SIDE;
         }
+        return rights;
+    }
+
+    private boolean isPieceAt(int square, Color color, PieceType type) {
+        return Bitboards.contains(board.getPieces(color, type), square);
+    }
+
+    private static int forward(Color color) {
+        return (color == Color.WHITE) ? -8 : 8;
     }
 
     private void validateSoucePosition(Position position) {
@@ -242,15 +849,10 @@ public class ChessMatch {
         }
     }
 
-    private void validateTargetPosition(Position to, Position from) {
-        if (!board.piece(to).possibleMove(from)) {
-            throw new ChessException("The chosen piece can't move to target position.");
-        }
-    }
-
     private void nextTurn() {
         turn++;
         currentPlayer = (currentPlayer == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        stateHash ^= Zobrist.side();
     }
 
     private Color opponent(Color color) {
@@ -258,54 +860,42 @@ public class ChessMatch {
     }
 
     private ChessPiece king(Color color) {
-        List<Piece> list = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == color).collect(Collectors.toList());
-        for (Piece p : list) {
-            if (p instanceof King) {
-                return (ChessPiece)p;
-            }
+        ChessPiece king = piecesOnTheBoard.king(color);
+        if (king == null) {
+            throw new IllegalStateException("There is no " + color + " king on the board.");
         }
-        throw new IllegalStateException("There is no " + color + " king on the board.");
+        return king;
     }
 
     private boolean testCheck(Color color) {
-        Position kingPosition = king(color).getChessPosition().toPosition();
-        List<Piece> opponentPieces = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == opponent(color)).collect(Collectors.toList());
-        for (Piece p : opponentPieces) {
-            boolean[][] mat = p.possibleMoves();
-            if (mat[kingPosition.getRow()][kingPosition.getColumn()]) {
-                return true;
-            }
-        }
-        return false;
+        return board.isSquareAttacked(king(color).getSquare(), opponent(color));
     }
 
-    public boolean testCheckMate(Color color) {
-        if (!testCheck(color)) {
-            return false;
-        }
+    void testGameEnd() {
+        boolean canMove = MoveGenerator.hasLegalMove(board, currentPlayer, enPassantSquare());
+        checkMate = check && !canMove;
+        stalemate = !check && !canMove;
+        draw = stalemate || (!checkMate && (isSeventyFiveMoveRule() || isInsufficientMaterial() || isFivefoldRepetition()));
+    }
 
-        List<Piece> list = piecesOnTheBoard.stream().filter(x -> ((ChessPiece)x).getColor() == opponent(color)).collect(Collectors.toList());
-
-        for (Piece p : list) {
-            boolean[][] mat = p.possibleMoves();
-            for (int i = 0; i < board.getRows(); i++) {
-                for (int j = 0; j < board.getColumns(); j++) {
-                    if (mat[i][j]) {
-                        Position to = ((ChessPiece)p).getChessPosition().toPosition();
-                        Position from = new Position(i, j);
-                        Piece captured = move(to, from);
-                        boolean testCheck = testCheck(color);
-                        undoMove(to, from, captured);
-                        if (!testCheck) {
-                            return false;
-                        }
-                    }
-                }
+    private int repetitions(int limit) {
+        long key = getHash();
+        int count = 0;
+        int oldest = Math.max(0, ply - halfmoveClock);
+        for (int i = ply - 2; i >= oldest && count < limit; i -= 2) {
+            if (keyHistory[i] == key) {
+                count++;
             }
-            return false;
         }
+        return count;
+    }
 
-        return true;
+    public boolean testCheckMate(Color color) {
+        return testCheck(color) && !MoveGenerator.hasLegalMove(board, color, (color == currentPlayer) ? enPassantSquare() : -1);
+    }
+
+    public boolean testStalemate(Color color) {
+        return !testCheck(color) && !MoveGenerator.hasLegalMove(board, color, (color == currentPlayer) ? enPassantSquare() : -1);
     }
 
     private void placeNewPiece(char column, int row, ChessPiece piece) {
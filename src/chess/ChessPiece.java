@@ -1,6 +1,5 @@
 package chess;
 
-import boardgame.Board;
 import boardgame.Piece;
 import boardgame.Position;
 
@@ -8,16 +7,24 @@ public abstract class ChessPiece extends Piece {
 
     private Color color;
     private int moveCount;
-    
-    public ChessPiece(Board board, Color color) {
+    int registryIndex = -1;
+
+    public ChessPiece(ChessBoard board, Color color) {
         super(board);
         this.color = color;
     }
 
+    @Override
+    protected ChessBoard getBoard() {
+        return (ChessBoard)super.getBoard();
+    }
+
     public Color getColor() {
         return color;
     }
 
+    public abstract PieceType getType();
+
     public int getMoveCount() {
         return moveCount;
     }
@@ -30,10 +37,58 @@ public abstract class ChessPiece extends Piece {
         moveCount--;
     }
 
+    void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
     public ChessPosition getChessPosition() {
         return ChessPosition.fromPosition(position);
     }
 
+    public int getSquare() {
+        return getBoard().square(position);
+    }
+
+    public abstract long possibleMovesMask();
+
+    @Override
+    public boolean[][] possibleMoves() {
+        return getBoard().toMatrix(possibleMovesMask());
+    }
+
+    public int possibleMoves(int[] moves, int count) {
+        int from = getSquare();
+        long targets = possibleMovesMask();
+        while (targets != 0) {
+            int to = Bitboards.first(targets);
+            moves[count++] = Move.of(from, to, moveFlags(from, to));
+            targets &= targets - 1;
+        }
+        return count;
+    }
+
+    protected int moveFlags(int from, int to) {
+        return getBoard().thereIsAPiece(to) ? Move.CAPTURE : Move.QUIET;
+    }
+
+    @Override
+    public boolean possibleMove(Position position) {
+        return Bitboards.contains(possibleMovesMask(), getBoard().square(position));
+    }
+
+    @Override
+    public boolean isThereAnyPossibleMove() {
+        return possibleMovesMask() != 0;
+    }
+
+    protected Color opponentColor() {
+        return (color == Color.WHITE) ? Color.BLACK : Color.WHITE;
+    }
+
+    protected long notOwnPieces() {
+        return ~getBoard().getPieces(color);
+    }
+
     protected boolean isThereOpponentPiece(Position position) {
         ChessPiece p = (ChessPiece)getBoard().piece(position);
         return p != null && p.getColor() != color;
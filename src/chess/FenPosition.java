@@ -0,0 +1,359 @@
+package chess;
+
+public class FenPosition {
+
+    public static final String INITIAL = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_LETTERS = "PNBRQKpnbrqk";
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int EMPTY = -1;
+    private static final int MAX_PIECES = 16;
+    private static final int MAX_PAWNS = 8;
+    private static final int MAX_HALFMOVE_CLOCK = 150;
+    private static final int MAX_FULLMOVE_NUMBER = 100_000;
+
+    private final byte[] squares = new byte[64];
+    private final int[] counts = new int[PIECE_LETTERS.length()];
+    private Color sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int halfmoveClock;
+    private int fullmoveNumber;
+
+    private CharSequence text;
+    private byte[] bytes;
+    private int offset;
+    private int end;
+
+    public FenPosition() {
+        clear();
+    }
+
+    public static FenPosition of(CharSequence fen) {
+        FenPosition position = new FenPosition();
+        position.parse(fen);
+        return position;
+    }
+
+    public void parse(CharSequence fen) {
+        text = fen;
+        bytes = null;
+        parse(0, fen.length());
+        text = null;
+    }
+
+    public void parse(byte[] buffer, int offset, int length) {
+        text = null;
+        bytes = buffer;
+        parse(offset, offset + length);
+        bytes = null;
+    }
+
+    public PieceType typeAt(int square) {
+        return (squares[square] == EMPTY) ? null : PIECE_TYPES[squares[square] % 6];
+    }
+
+    public Color colorAt(int square) {
+        if (squares[square] == EMPTY) {
+            return null;
+        }
+        return (squares[square] < 6) ? Color.WHITE : Color.BLACK;
+    }
+
+    public Color getSideToMove() {
+        return sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    private void clear() {
+        for (int i = 0; i < squares.length; i++) {
+            squares[i] = EMPTY;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        sideToMove = Color.WHITE;
+        castlingRights = 0;
+        enPassantSquare = -1;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+    }
+
+    private void parse(int start, int limit) {
+        clear();
+        offset = start;
+        end = limit;
+        skipSpaces();
+
+        int row = 0;
+        int column = 0;
+        while (offset < end && charAt(offset) != ' ') {
+            char c = charAt(offset++);
+            if (c == '/') {
+                if (column != 8 || row == 7) {
+                    throw invalid("misplaced '/'");
+                }
+                row++;
+                column = 0;
+            } else if (c >= '1' && c <= '8') {
+                column += c - '0';
+            } else {
+                int piece = PIECE_LETTERS.indexOf(c);
+                if (piece < 0) {
+                    throw invalid("unexpected '" + c + "'");
+                }
+                if (PIECE_TYPES[piece % 6] == PieceType.PAWN && (row == 0 || row == 7)) {
+                    throw invalid("pawn on rank " + (8 - row));
+                }
+                if (column < 8) {
+                    squares[Bitboards.square(row, column)] = (byte)piece;
+                }
+                counts[piece]++;
+                column++;
+            }
+            if (column > 8) {
+                throw invalid("row " + (8 - row) + " has more than 8 squares");
+            }
+        }
+        if (row != 7 || column != 8) {
+            throw invalid("the board must have 8 rows of 8 squares");
+        }
+        validateMaterial(0, "White");
+        validateMaterial(6, "Black");
+
+        skipSpaces();
+        char side = (offset < end) ? charAt(offset++) : ' ';
+        if (side == 'w') {
+            sideToMove = Color.WHITE;
+        } else if (side == 'b') {
+            sideToMove = Color.BLACK;
+        } else {
+            throw invalid("side to move must be 'w' or 'b'");
+        }
+
+        skipSpaces();
+        while (offset < end && charAt(offset) != ' ') {
+            char c = charAt(offset++);
+            if (c == 'K') {
+                castlingRights |= ChessMatch.WHITE_KING_SIDE;
+            } else if (c == 'Q') {
+                castlingRights |= ChessMatch.WHITE_QUEEN_SIDE;
+            } else if (c == 'k') {
+                castlingRights |= ChessMatch.BLACK_KING_SIDE;
+            } else if (c == 'q') {
+                castlingRights |= ChessMatch.BLACK_QUEEN_SIDE;
+            } else if (c != '-') {
+                throw invalid("unexpected castling right '" + c + "'");
+            }
+        }
+
+        skipSpaces();
+        if (offset < end && charAt(offset) == '-') {
+            offset++;
+        } else if (offset + 1 < end && charAt(offset) >= 'a' && charAt(offset) <= 'h' && charAt(offset + 1) == ((sideToMove == Color.WHITE) ? '6' : '3')) {
+            enPassantSquare = Bitboards.square('8' - charAt(offset + 1), charAt(offset) - 'a');
+            offset += 2;
+            validateEnPassant();
+        } else {
+            throw invalid("invalid en passant square");
+        }
+
+        skipSpaces();
+        if (offset < end && isDigit(charAt(offset))) {
+            halfmoveClock = readNumber(MAX_HALFMOVE_CLOCK, "halfmove clock");
+            skipSpaces();
+            if (offset < end && isDigit(charAt(offset))) {
+                fullmoveNumber = Math.max(1, readNumber(MAX_FULLMOVE_NUMBER, "fullmove number"));
+            }
+        }
+    }
+
+    private void validateMaterial(int first, String side) {
+        int pieces = 0;
+        for (int i = first; i < first + 6; i++) {
+            pieces += counts[i];
+        }
+        if (pieces > MAX_PIECES) {
+            throw invalid(side + " has more than " + MAX_PIECES + " pieces");
+        }
+        if (counts[first + PieceType.PAWN.ordinal()] > MAX_PAWNS) {
+            throw invalid(side + " has more than " + MAX_PAWNS + " pawns");
+        }
+        if (counts[first + PieceType.KING.ordinal()] != 1) {
+            throw invalid(side + " must have exactly one king");
+        }
+    }
+
+    private void validateEnPassant() {
+        int forward = (sideToMove == Color.WHITE) ? 8 : -8;
+        int pawn = (sideToMove == Color.WHITE) ? 6 + PieceType.PAWN.ordinal() : PieceType.PAWN.ordinal();
+        if (squares[enPassantSquare] != EMPTY || squares[enPassantSquare - forward] != EMPTY || squares[enPassantSquare + forward] != pawn) {
+            throw invalid("no pawn can be captured en passant on " + (char)('a' + Bitboards.column(enPassantSquare)) + (8 - Bitboards.row(enPassantSquare)));
+        }
+    }
+
+    private char charAt(int index) {
+        return (text != null) ? text.charAt(index) : (char)(bytes[index] & 0xFF);
+    }
+
+    private void skipSpaces() {
+        while (offset < end && charAt(offset) == ' ') {
+            offset++;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int readNumber(int max, String name) {
+        int value = 0;
+        while (offset < end && isDigit(charAt(offset))) {
+            value = value * 10 + (charAt(offset++) - '0');
+            if (value > max) {
+                throw invalid(name + " is larger than " + max);
+            }
+        }
+        return value;
+    }
+
+    private ChessException invalid(String reason) {
+        return new ChessException("Invalid FEN: " + reason);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(90);
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int column = 0; column < 8; column++) {
+                int piece = squares[Bitboards.square(row, column)];
+                if (piece == EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                sb.append(PIECE_LETTERS.charAt(piece));
+            }
+            if (empty > 0) {
+                sb.append(empty);
+            }
+            if (row < 7) {
+                sb.append('/');
+            }
+        }
+
+        sb.append(' ').append((sideToMove == Color.WHITE) ? 'w' : 'b').append(' ');
+        if (castlingRights == 0) {
+            sb.append('-');
+        } else {
+            if ((castlingRights & ChessMatch.WHITE_KING_SIDE) != 0) sb.append('K');
+            if ((castlingRights & ChessMatch.WHITE_QUEEN_SIDE) != 0) sb.append('Q');
+            if ((castlingRights & ChessMatch.BLACK_KING_SIDE) != 0) sb.append('k');
+            if ((castlingRights & ChessMatch.BLACK_QUEEN_SIDE) != 0) sb.append('q');
+        }
+        sb.append(' ');
+        if (enPassantSquare < 0) {
+            sb.append('-');
+        } else {
+            sb.append((char)('a' + Bitboards.column(enPassantSquare))).append(8 - Bitboards.row(enPassantSquare));
+        }
+        sb.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber);
+        return sb.toString();
+    }
+
+    void validate() {
+        int whiteKing = -1;
+        int blackKing = -1;
+        int kings = 0;
+        long occupied = 0L;
+        for (int square = 0; square < 64; square++) {
+            if (squares[square] == EMPTY) {
+                continue;
+            }
+            occupied |= Bitboards.bit(square);
+            if (typeAt(square) == PieceType.KING) {
+                kings++;
+                if (colorAt(square) == Color.WHITE) {
+                    whiteKing = square;
+                } else {
+                    blackKing = square;
+                }
+            }
+        }
+        if (kings != 2 || whiteKing < 0 || blackKing < 0) {
+            throw invalid("each side must have exactly one king");
+        }
+        int king = (sideToMove == Color.WHITE) ? blackKing : whiteKing;
+        if (isAttacked(king, sideToMove, occupied)) {
+            throw invalid("the side not to move is in check");
+        }
+    }
+
+    private boolean isAttacked(int square, Color by, long occupied) {
+        for (int from = 0; from < 64; from++) {
+            if (colorAt(from) != by) {
+                continue;
+            }
+            PieceType type = typeAt(from);
+            long attacks;
+            if (type == PieceType.PAWN) {
+                attacks = Bitboards.PAWN_ATTACKS[by.ordinal()][from];
+            } else if (type == PieceType.KNIGHT) {
+                attacks = Bitboards.KNIGHT_ATTACKS[from];
+            } else if (type == PieceType.BISHOP) {
+                attacks = Bitboards.bishopAttacks(from, occupied);
+            } else if (type == PieceType.ROOK) {
+                attacks = Bitboards.rookAttacks(from, occupied);
+            } else if (type == PieceType.QUEEN) {
+                attacks = Bitboards.bishopAttacks(from, occupied) | Bitboards.rookAttacks(from, occupied);
+            } else {
+                attacks = Bitboards.KING_ATTACKS[from];
+            }
+            if (Bitboards.contains(attacks, square)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void copyFrom(FenPosition other) {
+        System.arraycopy(other.squares, 0, squares, 0, squares.length);
+        sideToMove = other.sideToMove;
+        castlingRights = other.castlingRights;
+        enPassantSquare = other.enPassantSquare;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+    }
+
+    void set(ChessBoard board, Color sideToMove, int castlingRights, int enPassantSquare, int halfmoveClock, int fullmoveNumber) {
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = board.piece(square);
+            squares[square] = (piece == null) ? EMPTY : (byte)(piece.getColor() == Color.WHITE ? piece.getType().ordinal() : 6 + piece.getType().ordinal());
+        }
+        this.sideToMove = sideToMove;
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+}
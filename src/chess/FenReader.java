@@ -0,0 +1,90 @@
+package chess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class FenReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long lineNumber;
+
+    public FenReader(InputStream in) {
+        this.in = in;
+    }
+
+    public FenReader(Path path) throws IOException {
+        this(Files.newInputStream(path));
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public boolean next(FenPosition fen) throws IOException {
+        while (true) {
+            int lineEnd = position;
+            while (lineEnd < limit && buffer[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd == limit && !endOfInput) {
+                fill();
+                continue;
+            }
+            if (position == limit) {
+                return false;
+            }
+
+            int start = position;
+            position = (lineEnd < limit) ? lineEnd + 1 : limit;
+            lineNumber++;
+
+            int end = lineEnd;
+            while (end > start && (buffer[end - 1] == '\r' || buffer[end - 1] == ' ' || buffer[end - 1] == '\t')) {
+                end--;
+            }
+            if (end == start || buffer[start] == '#') {
+                continue;
+            }
+
+            try {
+                fen.parse(buffer, start, end - start);
+            } catch (ChessException e) {
+                throw new ChessException(e.getMessage() + " on line " + lineNumber);
+            }
+            return true;
+        }
+    }
+
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
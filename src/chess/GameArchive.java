@@ -0,0 +1,147 @@
+package chess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class GameArchive implements Closeable {
+
+    static final int MAGIC = 0x41474843;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int MAX_PLIES = 0xFFFF;
+    static final int SET_UP = 1;
+
+    private static final String[] RESULTS = { "*", "1-0", "0-1", "1/2-1/2" };
+    private static final int SEGMENT_SIZE = 1 << 30;
+    private static final int SEGMENT_OVERLAP = 1 << 17;
+    private static final ThreadLocal<ReplayBuffers> REPLAY_BUFFERS = ThreadLocal.withInitial(ReplayBuffers::new);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+    private final long indexOffset;
+
+    private GameArchive(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long length = channel.size();
+        segments = new MappedByteBuffer[(int)Math.max(1, (length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long)i * SEGMENT_SIZE;
+            long end = Math.min(length, start + SEGMENT_SIZE + SEGMENT_OVERLAP);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        if (length < HEADER_SIZE || segments[0].getInt(0) != MAGIC || segments[0].getShort(4) != VERSION) {
+            throw new IOException("Not a game archive");
+        }
+        size = segments[0].getLong(8);
+        indexOffset = segments[0].getLong(16);
+        if (size < 0 || indexOffset < HEADER_SIZE || indexOffset + 8 * size != length) {
+            throw new IOException("Corrupt game archive: " + size + " games, index at " + indexOffset + ", " + length + " bytes");
+        }
+    }
+
+    public static GameArchive open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new GameArchive(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int getPlies(long game) {
+        long offset = offset(game);
+        return segment(offset).getShort(local(offset) + 2) & 0xFFFF;
+    }
+
+    public String getResult(long game) {
+        long offset = offset(game);
+        int code = segment(offset).get(local(offset));
+        return RESULTS[code & 3];
+    }
+
+    public void replay(long game, ChessMatch match) {
+        replay(game, match, MAX_PLIES);
+    }
+
+    public void replay(long game, ChessMatch match, int maxPlies) {
+        long offset = offset(game);
+        MappedByteBuffer data = segment(offset);
+        int position = local(offset);
+        boolean setUp = (data.get(position + 1) & SET_UP) != 0;
+        int plies = Math.min(data.getShort(position + 2) & 0xFFFF, maxPlies);
+        position += 4;
+
+        ReplayBuffers buffers = REPLAY_BUFFERS.get();
+        FenPosition start = buffers.start;
+        if (setUp) {
+            int length = data.get(position) & 0xFF;
+            data.get(position + 1, buffers.fen, 0, length);
+            start.parse(buffers.fen, 0, length);
+            position += 1 + length;
+        } else {
+            start.parse(FenPosition.INITIAL);
+        }
+        match.load(start);
+
+        int[] moves = buffers.moves;
+        for (int ply = 0; ply < plies; ply++) {
+            int index = data.get(position + ply) & 0xFF;
+            int count = match.generateLegalMoves(moves);
+            if (index >= count) {
+                throw new ChessException("Invalid move index " + index + " at ply " + ply + " of game " + game);
+            }
+            match.makeMove(moves[index]);
+        }
+        match.testGameEnd();
+    }
+
+    static int resultCode(String result) {
+        for (int i = 0; i < RESULTS.length; i++) {
+            if (RESULTS[i].equals(result)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private long offset(long game) {
+        if (game < 0 || game >= size) {
+            throw new IndexOutOfBoundsException("Game " + game + " is not in the archive (" + size + " games)");
+        }
+        long entry = indexOffset + 8 * game;
+        return segment(entry).getLong(local(entry));
+    }
+
+    private MappedByteBuffer segment(long offset) {
+        return segments[(int)(offset / SEGMENT_SIZE)];
+    }
+
+    private static int local(long offset) {
+        return (int)(offset % SEGMENT_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static class ReplayBuffers {
+        final FenPosition start = new FenPosition();
+        final byte[] fen = new byte[256];
+        final int[] moves = new int[Move.MAX_MOVES];
+    }
+
+}
@@ -0,0 +1,125 @@
+package chess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class GameArchiveWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 17;
+    private static final int MAX_RECORD_SIZE = 4 + 256 + GameArchive.MAX_PLIES;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final FenPosition start = new FenPosition();
+    private final int[] moves = new int[Move.MAX_MOVES];
+    private long[] offsets = new long[1024];
+    private long games;
+    private long position;
+    private ChessMatch replay;
+
+    public GameArchiveWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.position(GameArchive.HEADER_SIZE);
+        position = GameArchive.HEADER_SIZE;
+    }
+
+    public long getGameCount() {
+        return games;
+    }
+
+    public void write(ChessMatch match) throws IOException {
+        write(match, match.getResult());
+    }
+
+    public void write(ChessMatch match, String result) throws IOException {
+        int plies = match.getPly();
+        if (plies > GameArchive.MAX_PLIES) {
+            throw new ChessException("Game is too long for the archive: " + plies + " plies");
+        }
+
+        match.startPosition(start);
+        String fen = start.toString();
+        boolean setUp = !fen.equals(FenPosition.INITIAL);
+        if (replay == null) {
+            replay = new ChessMatch(start);
+        } else {
+            replay.load(start);
+        }
+
+        record.clear();
+        record.put((byte)GameArchive.resultCode(result));
+        record.put((byte)(setUp ? GameArchive.SET_UP : 0));
+        record.putShort((short)plies);
+        if (setUp) {
+            byte[] bytes = fen.getBytes(StandardCharsets.US_ASCII);
+            record.put((byte)bytes.length).put(bytes);
+        }
+
+        for (int ply = 0; ply < plies; ply++) {
+            int move = match.moveAt(ply);
+            int count = replay.generateLegalMoves(moves);
+            int index = 0;
+            while (index < count && moves[index] != move) {
+                index++;
+            }
+            if (index == count) {
+                throw new ChessException("Illegal move " + Move.toString(move) + " at ply " + ply);
+            }
+            record.put((byte)index);
+            replay.makeMove(move);
+        }
+
+        if (games == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[(int)games++] = position;
+        record.flip();
+        ensure(record.remaining());
+        position += record.remaining();
+        buffer.put(record);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long indexOffset = position;
+            for (int i = 0; i < games; i++) {
+                ensure(8);
+                buffer.putLong(offsets[i]);
+            }
+            flush();
+
+            buffer.putInt(GameArchive.MAGIC).putShort(GameArchive.VERSION).putShort((short)0).putLong(games).putLong(indexOffset);
+            buffer.flip();
+            long offset = 0;
+            while (buffer.hasRemaining()) {
+                offset += channel.write(buffer, offset);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package chess;
+
+public final class Move {
+
+    public static final int NONE = 0;
+    public static final int MAX_MOVES = 256;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int FLAGS_SHIFT = 12;
+    private static final int PROMOTION_SHIFT = 16;
+
+    private static final PieceType[] TYPES = PieceType.values();
+
+    private Move() {
+    }
+
+    public static int of(int from, int to, int flags) {
+        return from | (to << TO_SHIFT) | (flags << FLAGS_SHIFT);
+    }
+
+    public static int of(int from, int to, int flags, PieceType promotion) {
+        return of(from, to, flags | PROMOTION) | (promotion.ordinal() << PROMOTION_SHIFT);
+    }
+
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int to(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    public static int flags(int move) {
+        return (move >>> FLAGS_SHIFT) & 0xF;
+    }
+
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (flags(move) & PROMOTION) != 0;
+    }
+
+    public static boolean isCastle(int move) {
+        int flags = flags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    public static PieceType promotion(int move) {
+        return isPromotion(move) ? TYPES[(move >>> PROMOTION_SHIFT) & 0x7] : null;
+    }
+
+    public static String toString(int move) {
+        String s = squareName(from(move)) + squareName(to(move));
+        PieceType promotion = promotion(move);
+        if (promotion != null) {
+            s += "pnbrqk".charAt(promotion.ordinal());
+        }
+        return s;
+    }
+
+    private static String squareName(int square) {
+        return "" + (char)('a' + Bitboards.column(square)) + (8 - Bitboards.row(square));
+    }
+
+}
@@ -0,0 +1,326 @@
+package chess;
+
+final class MoveGenerator {
+
+    static final int ALL = 0;
+    static final int TACTICAL = 1;
+    static final int QUIET = 2;
+
+    private static final long PROMOTION_ROWS = 0xFF000000000000FFL;
+
+    private MoveGenerator() {
+    }
+
+    static int generateLegalMoves(ChessBoard board, Color us, int castlingRights, int enPassantSquare, int[] moves) {
+        return generateLegalMoves(board, us, castlingRights, enPassantSquare, moves, ALL);
+    }
+
+    static int generateLegalMoves(ChessBoard board, Color us, int castlingRights, int enPassantSquare, int[] moves, int mode) {
+        Color them = (us == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        long ours = board.getPieces(us);
+        long theirs = board.getPieces(them);
+        long occupied = board.getOccupied();
+        int kingSquare = Bitboards.first(board.getPieces(us, PieceType.KING));
+        int count = 0;
+
+        long modeMask = (mode == TACTICAL) ? theirs : (mode == QUIET) ? ~occupied : Bitboards.ALL;
+        long kingTargets = Bitboards.KING_ATTACKS[kingSquare] & ~ours & modeMask;
+        long withoutKing = occupied ^ Bitboards.bit(kingSquare);
+        while (kingTargets != 0) {
+            int to = Bitboards.first(kingTargets);
+            if (!board.isSquareAttacked(to, them, withoutKing)) {
+                moves[count++] = Move.of(kingSquare, to, Bitboards.contains(theirs, to) ? Move.CAPTURE : Move.QUIET);
+            }
+            kingTargets &= kingTargets - 1;
+        }
+
+        long checkers = board.attackersTo(kingSquare, occupied) & theirs;
+        if (Bitboards.count(checkers) > 1) {
+            return count;
+        }
+
+        long checkMask = Bitboards.ALL;
+        if (checkers != 0) {
+            int checker = Bitboards.first(checkers);
+            checkMask = checkers | Bitboards.BETWEEN[kingSquare][checker];
+        }
+
+        long theirQueens = board.getPieces(them, PieceType.QUEEN);
+        long theirDiagonal = board.getPieces(them, PieceType.BISHOP) | theirQueens;
+        long theirStraight = board.getPieces(them, PieceType.ROOK) | theirQueens;
+        long pinned = pinned(kingSquare, occupied, ours, theirDiagonal, theirStraight);
+
+        long targetMask = ~ours & checkMask & modeMask;
+        long pawnMask = (mode == TACTICAL) ? theirs | PROMOTION_ROWS : (mode == QUIET) ? ~(theirs | PROMOTION_ROWS) : Bitboards.ALL;
+
+        long knights = board.getPieces(us, PieceType.KNIGHT) & ~pinned;
+        while (knights != 0) {
+            int from = Bitboards.first(knights);
+            count = addMoves(moves, count, from, Bitboards.KNIGHT_ATTACKS[from] & targetMask, theirs);
+            knights &= knights - 1;
+        }
+
+        long diagonal = board.getPieces(us, PieceType.BISHOP) | board.getPieces(us, PieceType.QUEEN);
+        while (diagonal != 0) {
+            int from = Bitboards.first(diagonal);
+            long targets = Bitboards.bishopAttacks(from, occupied) & targetMask;
+            if (Bitboards.contains(pinned, from)) {
+                targets &= Bitboards.LINE[kingSquare][from];
+            }
+            count = addMoves(moves, count, from, targets, theirs);
+            diagonal &= diagonal - 1;
+        }
+
+        long straight = board.getPieces(us, PieceType.ROOK) | board.getPieces(us, PieceType.QUEEN);
+        while (straight != 0) {
+            int from = Bitboards.first(straight);
+            long targets = Bitboards.rookAttacks(from, occupied) & targetMask;
+            if (Bitboards.contains(pinned, from)) {
+                targets &= Bitboards.LINE[kingSquare][from];
+            }
+            count = addMoves(moves, count, from, targets, theirs);
+            straight &= straight - 1;
+        }
+
+        int forward = (us == Color.WHITE) ? -8 : 8;
+        int startRow = (us == Color.WHITE) ? 6 : 1;
+        int promotionRow = (us == Color.WHITE) ? 0 : 7;
+        long pawns = board.getPieces(us, PieceType.PAWN);
+        while (pawns != 0) {
+            int from = Bitboards.first(pawns);
+            pawns &= pawns - 1;
+
+            long targets = Bitboards.PAWN_ATTACKS[us.ordinal()][from] & theirs;
+            int oneStep = from + forward;
+            if (!Bitboards.contains(occupied, oneStep)) {
+                targets |= Bitboards.bit(oneStep);
+                if (Bitboards.row(from) == startRow && !Bitboards.contains(occupied, oneStep + forward)) {
+                    targets |= Bitboards.bit(oneStep + forward);
+                }
+            }
+            targets &= checkMask & pawnMask;
+            if (Bitboards.contains(pinned, from)) {
+                targets &= Bitboards.LINE[kingSquare][from];
+            }
+
+            while (targets != 0) {
+                int to = Bitboards.first(targets);
+                targets &= targets - 1;
+                int flags = Bitboards.contains(theirs, to) ? Move.CAPTURE : Move.QUIET;
+                if (Bitboards.row(to) == promotionRow) {
+                    moves[count++] = Move.of(from, to, flags, PieceType.QUEEN);
+                    moves[count++] = Move.of(from, to, flags, PieceType.ROOK);
+                    moves[count++] = Move.of(from, to, flags, PieceType.BISHOP);
+                    moves[count++] = Move.of(from, to, flags, PieceType.KNIGHT);
+                } else if (to - from == 2 * forward) {
+                    moves[count++] = Move.of(from, to, Move.DOUBLE_PAWN_PUSH);
+                } else {
+                    moves[count++] = Move.of(from, to, flags);
+                }
+            }
+
+            if (mode != QUIET && enPassantSquare >= 0 && Bitboards.contains(Bitboards.PAWN_ATTACKS[us.ordinal()][from], enPassantSquare)) {
+                int capturedSquare = enPassantSquare - forward;
+                if (isEnPassantLegal(from, enPassantSquare, capturedSquare, kingSquare, occupied, checkMask, theirDiagonal, theirStraight)) {
+                    moves[count++] = Move.of(from, enPassantSquare, Move.EN_PASSANT);
+                }
+            }
+        }
+
+        if (mode != TACTICAL && checkers == 0 && Bitboards.column(kingSquare) == 4) {
+            count = addCastling(board, us, them, castlingRights, kingSquare, occupied, moves, count);
+        }
+
+        return count;
+    }
+
+    static boolean hasLegalMove(ChessBoard board, Color us, int enPassantSquare) {
+        Color them = (us == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        long ours = board.getPieces(us);
+        long theirs = board.getPieces(them);
+        long occupied = board.getOccupied();
+        int kingSquare = Bitboards.first(board.getPieces(us, PieceType.KING));
+
+        long kingTargets = Bitboards.KING_ATTACKS[kingSquare] & ~ours;
+        long withoutKing = occupied ^ Bitboards.bit(kingSquare);
+        while (kingTargets != 0) {
+            if (!board.isSquareAttacked(Bitboards.first(kingTargets), them, withoutKing)) {
+                return true;
+            }
+            kingTargets &= kingTargets - 1;
+        }
+
+        long checkers = board.attackersTo(kingSquare, occupied) & theirs;
+        if (Bitboards.count(checkers) > 1) {
+            return false;
+        }
+
+        long checkMask = Bitboards.ALL;
+        if (checkers != 0) {
+            int checker = Bitboards.first(checkers);
+            checkMask = checkers | Bitboards.BETWEEN[kingSquare][checker];
+        }
+
+        long theirQueens = board.getPieces(them, PieceType.QUEEN);
+        long theirDiagonal = board.getPieces(them, PieceType.BISHOP) | theirQueens;
+        long theirStraight = board.getPieces(them, PieceType.ROOK) | theirQueens;
+        long pinned = pinned(kingSquare, occupied, ours, theirDiagonal, theirStraight);
+        long targetMask = ~ours & checkMask;
+
+        long knights = board.getPieces(us, PieceType.KNIGHT) & ~pinned;
+        while (knights != 0) {
+            if ((Bitboards.KNIGHT_ATTACKS[Bitboards.first(knights)] & targetMask) != 0) {
+                return true;
+            }
+            knights &= knights - 1;
+        }
+
+        int forward = (us == Color.WHITE) ? -8 : 8;
+        long pawns = board.getPieces(us, PieceType.PAWN);
+        while (pawns != 0) {
+            int from = Bitboards.first(pawns);
+            pawns &= pawns - 1;
+
+            long targets = Bitboards.PAWN_ATTACKS[us.ordinal()][from] & theirs;
+            int oneStep = from + forward;
+            if (!Bitboards.contains(occupied, oneStep)) {
+                targets |= Bitboards.bit(oneStep);
+                int startRow = (us == Color.WHITE) ? 6 : 1;
+                if (Bitboards.row(from) == startRow && !Bitboards.contains(occupied, oneStep + forward)) {
+                    targets |= Bitboards.bit(oneStep + forward);
+                }
+            }
+            targets &= checkMask;
+            if (Bitboards.contains(pinned, from)) {
+                targets &= Bitboards.LINE[kingSquare][from];
+            }
+            if (targets != 0) {
+                return true;
+            }
+
+            if (enPassantSquare >= 0 && Bitboards.contains(Bitboards.PAWN_ATTACKS[us.ordinal()][from], enPassantSquare)
+                    && isEnPassantLegal(from, enPassantSquare, enPassantSquare - forward, kingSquare, occupied, checkMask, theirDiagonal, theirStraight)) {
+                return true;
+            }
+        }
+
+        long diagonal = board.getPieces(us, PieceType.BISHOP) | board.getPieces(us, PieceType.QUEEN);
+        while (diagonal != 0) {
+            int from = Bitboards.first(diagonal);
+            long targets = Bitboards.bishopAttacks(from, occupied) & targetMask;
+            if (Bitboards.contains(pinned, from)) {
+                targets &= Bitboards.LINE[kingSquare][from];
+            }
+            if (targets != 0) {
+                return true;
+            }
+            diagonal &= diagonal - 1;
+        }
+
+        long straight = board.getPieces(us, PieceType.ROOK) | board.getPieces(us, PieceType.QUEEN);
+        while (straight != 0) {
+            int from = Bitboards.first(straight);
+            long targets = Bitboards.rookAttacks(from, occupied) & targetMask;
+            if (Bitboards.contains(pinned, from)) {
+                targets &= Bitboards.LINE[kingSquare][from];
+            }
+            if (targets != 0) {
+                return true;
+            }
+            straight &= straight - 1;
+        }
+
+        return false;
+    }
+
+    static boolean isLegal(ChessBoard board, Color us, int enPassantSquare, int move) {
+        Color them = (us == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        int from = Move.from(move);
+        int to = Move.to(move);
+        long occupied = board.getOccupied();
+        int kingSquare = Bitboards.first(board.getPieces(us, PieceType.KING));
+
+        if (from == kingSquare) {
+            int flags = Move.flags(move);
+            return flags == Move.KING_CASTLE || flags == Move.QUEEN_CASTLE
+                    || !board.isSquareAttacked(to, them, occupied ^ Bitboards.bit(kingSquare));
+        }
+
+        long checkers = board.attackersTo(kingSquare, occupied) & board.getPieces(them);
+        if (Bitboards.count(checkers) > 1) {
+            return false;
+        }
+
+        long checkMask = Bitboards.ALL;
+        if (checkers != 0) {
+            int checker = Bitboards.first(checkers);
+            checkMask = checkers | Bitboards.BETWEEN[kingSquare][checker];
+        }
+
+        long theirQueens = board.getPieces(them, PieceType.QUEEN);
+        long theirDiagonal = board.getPieces(them, PieceType.BISHOP) | theirQueens;
+        long theirStraight = board.getPieces(them, PieceType.ROOK) | theirQueens;
+
+        if (Move.flags(move) == Move.EN_PASSANT) {
+            int capturedSquare = enPassantSquare - ((us == Color.WHITE) ? -8 : 8);
+            return to == enPassantSquare && isEnPassantLegal(from, enPassantSquare, capturedSquare, kingSquare, occupied, checkMask, theirDiagonal, theirStraight);
+        }
+
+        if (!Bitboards.contains(checkMask, to)) {
+            return false;
+        }
+        long pinned = pinned(kingSquare, occupied, board.getPieces(us), theirDiagonal, theirStraight);
+        return !Bitboards.contains(pinned, from) || Bitboards.contains(Bitboards.LINE[kingSquare][from], to);
+    }
+
+    private static long pinned(int kingSquare, long occupied, long ours, long theirDiagonal, long theirStraight) {
+        long pinned = 0L;
+        long snipers = (Bitboards.bishopAttacks(kingSquare, 0L) & theirDiagonal) | (Bitboards.rookAttacks(kingSquare, 0L) & theirStraight);
+        while (snipers != 0) {
+            long blockers = Bitboards.BETWEEN[kingSquare][Bitboards.first(snipers)] & occupied;
+            if (Bitboards.count(blockers) == 1) {
+                pinned |= blockers & ours;
+            }
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+    private static boolean isEnPassantLegal(int from, int enPassantSquare, int capturedSquare, int kingSquare, long occupied, long checkMask, long theirDiagonal, long theirStraight) {
+        if ((checkMask & (Bitboards.bit(enPassantSquare) | Bitboards.bit(capturedSquare))) == 0) {
+            return false;
+        }
+        long after = (occupied ^ Bitboards.bit(from) ^ Bitboards.bit(capturedSquare)) | Bitboards.bit(enPassantSquare);
+        return (Bitboards.bishopAttacks(kingSquare, after) & theirDiagonal) == 0 && (Bitboards.rookAttacks(kingSquare, after) & theirStraight) == 0;
+    }
+
+    private static int addCastling(ChessBoard board, Color us, Color them, int castlingRights, int kingSquare, long occupied, int[] moves, int count) {
+        int kingSide = (us == Color.WHITE) ? ChessMatch.WHITE_KING_SIDE : ChessMatch.BLACK_KING_SIDE;
+        int queenSide = (us == Color.WHITE) ? ChessMatch.WHITE_QUEEN_SIDE : ChessMatch.BLACK_QUEEN_SIDE;
+        long rooks = board.getPieces(us, PieceType.ROOK);
+
+        if ((castlingRights & kingSide) != 0 && Bitboards.contains(rooks, kingSquare + 3)
+                && (occupied & (Bitboards.bit(kingSquare + 1) | Bitboards.bit(kingSquare + 2))) == 0
+                && !board.isSquareAttacked(kingSquare + 1, them) && !board.isSquareAttacked(kingSquare + 2, them)) {
+            moves[count++] = Move.of(kingSquare, kingSquare + 2, Move.KING_CASTLE);
+        }
+
+        if ((castlingRights & queenSide) != 0 && Bitboards.contains(rooks, kingSquare - 4)
+                && (occupied & (Bitboards.bit(kingSquare - 1) | Bitboards.bit(kingSquare - 2) | Bitboards.bit(kingSquare - 3))) == 0
+                && !board.isSquareAttacked(kingSquare - 1, them) && !board.isSquareAttacked(kingSquare - 2, them)) {
+            moves[count++] = Move.of(kingSquare, kingSquare - 2, Move.QUEEN_CASTLE);
+        }
+
+        return count;
+    }
+
+    private static int addMoves(int[] moves, int count, int from, long targets, long theirs) {
+        while (targets != 0) {
+            int to = Bitboards.first(targets);
+            moves[count++] = Move.of(from, to, Bitboards.contains(theirs, to) ? Move.CAPTURE : Move.QUIET);
+            targets &= targets - 1;
+        }
+        return count;
+    }
+
+}
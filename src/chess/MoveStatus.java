@@ -0,0 +1,24 @@
+package chess;
+
+public enum MoveStatus {
+
+    OK("The move was played."),
+    GAME_OVER("The match is over."),
+    INVALID_SQUARE("Error instantiang ChessPosition. Valid values are from a1 to h8"),
+    NO_PIECE("There is no piece on source position"),
+    NOT_YOUR_PIECE("The chosen piece is not yours."),
+    NO_POSSIBLE_MOVES("There is no possible moves for the chosen piece."),
+    ILLEGAL_TARGET("The chosen piece can't move to target position."),
+    SELF_CHECK("You can not put yourself in check");
+
+    private final String message;
+
+    MoveStatus(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+}
@@ -0,0 +1,137 @@
+package chess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+public class OpeningBook implements Closeable {
+
+    static final int MAGIC = 0x424F4843;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final int size;
+
+    private OpeningBook(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long length = channel.size();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Opening book is too large: " + length + " bytes");
+        }
+        data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        data.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (length < HEADER_SIZE || data.getInt(0) != MAGIC || data.getShort(4) != VERSION) {
+            throw new IOException("Not an opening book");
+        }
+        long entries = data.getLong(8);
+        if (entries < 0 || HEADER_SIZE + entries * RECORD_SIZE != length) {
+            throw new IOException("Corrupt opening book: " + entries + " entries, " + length + " bytes");
+        }
+        size = (int)entries;
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new OpeningBook(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int probe(ChessMatch match, int[] moves, int[] weights) {
+        long hash = match.getHash();
+        int count = 0;
+        for (int i = first(hash); i < size && hash(i) == hash && count < moves.length; i++) {
+            if (match.isLegal(move(i))) {
+                moves[count] = move(i);
+                weights[count] = weight(i);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int bestMove(ChessMatch match) {
+        long hash = match.getHash();
+        int best = Move.NONE;
+        int bestWeight = -1;
+        for (int i = first(hash); i < size && hash(i) == hash; i++) {
+            if (weight(i) > bestWeight && match.isLegal(move(i))) {
+                best = move(i);
+                bestWeight = weight(i);
+            }
+        }
+        return best;
+    }
+
+    public int pickMove(ChessMatch match, Random random) {
+        long hash = match.getHash();
+        int first = first(hash);
+        long total = 0;
+        for (int i = first; i < size && hash(i) == hash; i++) {
+            if (match.isLegal(move(i))) {
+                total += weight(i);
+            }
+        }
+        if (total == 0) {
+            return Move.NONE;
+        }
+        long pick = (long)(random.nextDouble() * total);
+        for (int i = first; i < size && hash(i) == hash; i++) {
+            if (match.isLegal(move(i))) {
+                pick -= weight(i);
+                if (pick < 0) {
+                    return move(i);
+                }
+            }
+        }
+        return Move.NONE;
+    }
+
+    private int first(long hash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (hash(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long hash(int entry) {
+        return data.getLong(HEADER_SIZE + entry * RECORD_SIZE);
+    }
+
+    private int move(int entry) {
+        return data.getInt(HEADER_SIZE + entry * RECORD_SIZE + 8);
+    }
+
+    private int weight(int entry) {
+        return data.getInt(HEADER_SIZE + entry * RECORD_SIZE + 12);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,140 @@
+package chess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class OpeningBookBuilder {
+
+    private static final int WIN = 2;
+    private static final int DRAW = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int maxPlies;
+    private final int minWeight;
+    private long[] hashes = new long[1 << 16];
+    private int[] moves = new int[1 << 16];
+    private int[] weights = new int[1 << 16];
+    private int size;
+
+    public OpeningBookBuilder(int maxPlies, int minWeight) {
+        this.maxPlies = maxPlies;
+        this.minWeight = Math.max(1, minWeight);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(GameArchive archive) {
+        ChessMatch match = new ChessMatch();
+        for (long game = 0; game < archive.size(); game++) {
+            archive.replay(game, match, maxPlies);
+            add(match, archive.getResult(game));
+        }
+    }
+
+    public void add(ChessMatch match, String result) {
+        int plies = Math.min(match.getPly(), maxPlies);
+        Color player = match.getPlayer();
+        if (match.getPly() % 2 == 1) {
+            player = (player == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        }
+        for (int ply = 0; ply < plies; ply++) {
+            int weight = score(result, player);
+            if (weight > 0) {
+                add(match.hashAt(ply), match.moveAt(ply), weight);
+            }
+            player = (player == Color.WHITE) ? Color.BLACK : Color.WHITE;
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        Integer[] order = new Integer[size];
+        int count = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (weights[i] >= minWeight) {
+                order[count++] = i;
+            }
+        }
+        Arrays.sort(order, 0, count, (a, b) -> (hashes[a] != hashes[b]) ? Long.compare(hashes[a], hashes[b]) : Integer.compare(weights[b], weights[a]));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(OpeningBook.MAGIC).putShort(OpeningBook.VERSION).putShort((short)0).putLong(count);
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < OpeningBook.RECORD_SIZE) {
+                    flush(channel, buffer);
+                }
+                int entry = order[i];
+                buffer.putLong(hashes[entry]).putInt(moves[entry]).putInt(weights[entry]);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static int score(String result, Color player) {
+        if (result.equals("1/2-1/2")) {
+            return DRAW;
+        }
+        if (result.equals("1-0")) {
+            return (player == Color.WHITE) ? WIN : 0;
+        }
+        if (result.equals("0-1")) {
+            return (player == Color.BLACK) ? WIN : 0;
+        }
+        return DRAW;
+    }
+
+    private void add(long hash, int move, int weight) {
+        if (2 * (size + 1) > hashes.length) {
+            grow();
+        }
+        int slot = find(hashes, moves, weights, hash, move);
+        if (weights[slot] == 0) {
+            hashes[slot] = hash;
+            moves[slot] = move;
+            size++;
+        }
+        weights[slot] = (int)Math.min(Integer.MAX_VALUE, (long)weights[slot] + weight);
+    }
+
+    private static int find(long[] hashes, int[] moves, int[] weights, long hash, int move) {
+        int mask = hashes.length - 1;
+        int slot = (int)((hash ^ (move * 0x9E3779B97F4A7C15L)) >>> 32) & mask;
+        while (weights[slot] != 0 && (hashes[slot] != hash || moves[slot] != move)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldHashes = hashes;
+        int[] oldMoves = moves;
+        int[] oldWeights = weights;
+        hashes = new long[oldHashes.length * 2];
+        moves = new int[oldHashes.length * 2];
+        weights = new int[oldHashes.length * 2];
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldWeights[i] != 0) {
+                int slot = find(hashes, moves, weights, oldHashes[i], oldMoves[i]);
+                hashes[slot] = oldHashes[i];
+                moves[slot] = oldMoves[i];
+                weights[slot] = oldWeights[i];
+            }
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,305 @@
+package chess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PgnReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_TOKEN_LENGTH = 255;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int previous = '\n';
+    private long lineNumber = 1;
+
+    private final StringBuilder token = new StringBuilder(MAX_TOKEN_LENGTH);
+    private final StringBuilder tagName = new StringBuilder();
+    private byte[] tagValue = new byte[256];
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private final FenPosition start = new FenPosition();
+    private final int[] moves = new int[Move.MAX_MOVES];
+
+    private ChessMatch match;
+    private boolean inGame;
+    private String result;
+    private long games;
+
+    public PgnReader(InputStream in) {
+        this.in = in;
+    }
+
+    public PgnReader(Path path) throws IOException {
+        this(Files.newInputStream(path));
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public long getGameCount() {
+        return games;
+    }
+
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public boolean nextGame(ChessMatch match) throws IOException {
+        while (inGame) {
+            nextToken();
+        }
+        this.match = null;
+        tags.clear();
+        result = null;
+
+        int c = skipWhitespace();
+        while (c == '[') {
+            read();
+            readTag();
+            c = skipWhitespace();
+        }
+        if (c < 0 && tags.isEmpty()) {
+            return false;
+        }
+
+        String fen = tags.get("FEN");
+        try {
+            start.parse((fen != null) ? fen : FenPosition.INITIAL);
+            match.load(start);
+        } catch (ChessException e) {
+            throw error(e.getMessage());
+        }
+        this.match = match;
+        inGame = true;
+        games++;
+        return true;
+    }
+
+    public int nextMove() throws IOException {
+        if (!inGame) {
+            return Move.NONE;
+        }
+        if (!nextToken()) {
+            match.testGameEnd();
+            return Move.NONE;
+        }
+        int move;
+        try {
+            move = San.parse(match, token, moves);
+        } catch (ChessException e) {
+            throw error(e.getMessage());
+        }
+        match.makeMove(move);
+        return move;
+    }
+
+    private boolean nextToken() throws IOException {
+        while (true) {
+            int c = skipWhitespace();
+            if (c < 0 || c == '[') {
+                inGame = false;
+                return false;
+            }
+            if (c == '{') {
+                skipPast('}');
+            } else if (c == ';') {
+                skipPast('\n');
+            } else if (c == '(') {
+                skipVariation();
+            } else if (c == '$') {
+                read();
+                readToken();
+            } else {
+                readToken();
+                if (isResult()) {
+                    result = token.toString();
+                    inGame = false;
+                    return false;
+                }
+                stripMoveNumber();
+                if (token.length() > 0 && !isEnPassantMark()) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private void readTag() throws IOException {
+        tagName.setLength(0);
+        int length = 0;
+        int c = skipWhitespace();
+        while (c >= 0 && c != '"' && c != ']' && !isWhitespace(c)) {
+            tagName.append((char)read());
+            c = peek();
+        }
+        c = skipWhitespace();
+        if (c == '"') {
+            read();
+            while ((c = read()) >= 0 && c != '"') {
+                if (c == '\\') {
+                    c = read();
+                }
+                if (c == '\n') {
+                    throw error("Unterminated tag value");
+                }
+                if (length == tagValue.length) {
+                    tagValue = Arrays.copyOf(tagValue, length * 2);
+                }
+                tagValue[length++] = (byte)c;
+            }
+        }
+        skipPast(']');
+        if (tagName.length() > 0) {
+            tags.put(tagName.toString(), new String(tagValue, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void readToken() throws IOException {
+        token.setLength(0);
+        int c = peek();
+        while (c >= 0 && !isWhitespace(c) && c != '{' && c != '(' && c != ')' && c != ';' && c != '[') {
+            if (token.length() == MAX_TOKEN_LENGTH) {
+                throw error("Token too long");
+            }
+            token.append((char)read());
+            c = peek();
+        }
+        if (token.length() == 0) {
+            read();
+        }
+    }
+
+    private void stripMoveNumber() {
+        int digits = 0;
+        while (digits < token.length() && token.charAt(digits) >= '0' && token.charAt(digits) <= '9') {
+            digits++;
+        }
+        if (digits == 0 || digits == token.length() || token.charAt(digits) != '.') {
+            return;
+        }
+        int dots = digits;
+        while (dots < token.length() && token.charAt(dots) == '.') {
+            dots++;
+        }
+        token.delete(0, dots);
+    }
+
+    private boolean isResult() {
+        return equals("1-0") || equals("0-1") || equals("1/2-1/2") || equals("*");
+    }
+
+    private boolean isEnPassantMark() {
+        return equals("e.p.");
+    }
+
+    private boolean equals(String s) {
+        if (token.length() != s.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (token.charAt(i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 0;
+        int c;
+        while ((c = read()) >= 0) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (--depth == 0) {
+                    return;
+                }
+            } else if (c == '{') {
+                skipPast('}');
+            } else if (c == ';') {
+                skipPast('\n');
+            }
+        }
+    }
+
+    private void skipPast(char end) throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c != end) {
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c >= 0 && (isWhitespace(c) || (c == '%' && previous == '\n'))) {
+            if (c == '%') {
+                skipPast('\n');
+            } else {
+                read();
+            }
+            c = peek();
+        }
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        int c = buffer[position++] & 0xFF;
+        if (c == '\n') {
+            lineNumber++;
+        }
+        previous = c;
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private ChessException error(String message) {
+        return new ChessException(message + " in game " + games + " on line " + lineNumber);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,116 @@
+package chess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+public class PgnWriter implements Closeable {
+
+    private static final String[] SEVEN_TAG_ROSTER = { "Event", "Site", "Date", "Round", "White", "Black", "Result" };
+    private static final int LINE_LENGTH = 79;
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(LINE_LENGTH + 16);
+    private final FenPosition start = new FenPosition();
+    private final int[] moves = new int[Move.MAX_MOVES];
+
+    public PgnWriter(Writer out) {
+        this.out = out;
+    }
+
+    public PgnWriter(Path path) throws IOException {
+        this(Files.newBufferedWriter(path));
+    }
+
+    public void write(ChessMatch match) throws IOException {
+        write(match, Collections.emptyMap());
+    }
+
+    public void write(ChessMatch match, Map<String, String> tags) throws IOException {
+        String result = result(match, tags);
+        for (String name : SEVEN_TAG_ROSTER) {
+            String value = name.equals("Result") ? result : tags.getOrDefault(name, "?");
+            writeTag(name, value);
+        }
+
+        match.startPosition(start);
+        String fen = start.toString();
+        boolean setUp = !fen.equals(FenPosition.INITIAL);
+        if (setUp) {
+            writeTag("SetUp", "1");
+            writeTag("FEN", fen);
+        }
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            if (!isRosterTag(tag.getKey()) && !(setUp && (tag.getKey().equals("SetUp") || tag.getKey().equals("FEN")))) {
+                writeTag(tag.getKey(), tag.getValue());
+            }
+        }
+        out.write('\n');
+
+        ChessMatch replay = new ChessMatch(start);
+        line.setLength(0);
+        for (int ply = 0; ply < match.getPly(); ply++) {
+            int move = match.moveAt(ply);
+            String san = San.toSan(replay, move, moves);
+            int number = (replay.getTurn() + 1) / 2;
+            if (replay.getPlayer() == Color.WHITE) {
+                san = number + ". " + san;
+            } else if (ply == 0) {
+                san = number + "... " + san;
+            }
+            append(san);
+            replay.makeMove(move);
+        }
+        append(result);
+        out.write(line.toString());
+        out.write("\n\n");
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void append(String token) throws IOException {
+        if (line.length() > 0 && line.length() + 1 + token.length() > LINE_LENGTH) {
+            out.write(line.toString());
+            out.write('\n');
+            line.setLength(0);
+        }
+        if (line.length() > 0) {
+            line.append(' ');
+        }
+        line.append(token);
+    }
+
+    private void writeTag(String name, String value) throws IOException {
+        out.write('[');
+        out.write(name);
+        out.write(" \"");
+        out.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+        out.write("\"]\n");
+    }
+
+    private static String result(ChessMatch match, Map<String, String> tags) {
+        String result = match.getResult();
+        return result.equals("*") ? tags.getOrDefault("Result", "*") : result;
+    }
+
+    private static boolean isRosterTag(String name) {
+        for (String tag : SEVEN_TAG_ROSTER) {
+            if (tag.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+}
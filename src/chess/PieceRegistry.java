@@ -0,0 +1,42 @@
+package chess;
+
+class PieceRegistry {
+
+    private static final int SLOTS_PER_TYPE = 16;
+
+    private ChessPiece[][][] slots = new ChessPiece[Color.values().length][PieceType.values().length][SLOTS_PER_TYPE];
+    private int[][] counts = new int[Color.values().length][PieceType.values().length];
+
+    public void add(ChessPiece piece) {
+        int color = piece.getColor().ordinal();
+        int type = piece.getType().ordinal();
+        int index = counts[color][type]++;
+        slots[color][type][index] = piece;
+        piece.registryIndex = index;
+    }
+
+    public void remove(ChessPiece piece) {
+        int color = piece.getColor().ordinal();
+        int type = piece.getType().ordinal();
+        ChessPiece[] typeSlots = slots[color][type];
+        int last = --counts[color][type];
+        ChessPiece moved = typeSlots[last];
+        typeSlots[piece.registryIndex] = moved;
+        moved.registryIndex = piece.registryIndex;
+        typeSlots[last] = null;
+        piece.registryIndex = -1;
+    }
+
+    public int count(Color color, PieceType type) {
+        return counts[color.ordinal()][type.ordinal()];
+    }
+
+    public ChessPiece get(Color color, PieceType type, int index) {
+        return slots[color.ordinal()][type.ordinal()][index];
+    }
+
+    public ChessPiece king(Color color) {
+        return slots[color.ordinal()][PieceType.KING.ordinal()][0];
+    }
+
+}
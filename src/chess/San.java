@@ -0,0 +1,197 @@
+package chess;
+
+public final class San {
+
+    private static final String PIECE_LETTERS = "PNBRQK";
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private San() {
+    }
+
+    public static int parse(ChessMatch match, CharSequence san) {
+        return parse(match, san, new int[Move.MAX_MOVES]);
+    }
+
+    public static int parse(ChessMatch match, CharSequence san, int[] moves) {
+        int end = san.length();
+        while (end > 0 && isSuffix(san.charAt(end - 1))) {
+            end--;
+        }
+        if (end < 2) {
+            throw invalid(san);
+        }
+
+        int castle = castleFlags(san, end);
+        if (castle != 0) {
+            return find(match, san, moves, castle, -1, PieceType.KING, -1, -1, null);
+        }
+
+        PieceType promotion = null;
+        int promotionIndex = PIECE_LETTERS.indexOf(Character.toUpperCase(san.charAt(end - 1)));
+        if (promotionIndex > 0 && promotionIndex < 5) {
+            promotion = PIECE_TYPES[promotionIndex];
+            end--;
+            if (end > 0 && san.charAt(end - 1) == '=') {
+                end--;
+            }
+        }
+        if (end < 2) {
+            throw invalid(san);
+        }
+
+        int toColumn = san.charAt(end - 2) - 'a';
+        int toRank = san.charAt(end - 1) - '1';
+        if (toColumn < 0 || toColumn > 7 || toRank < 0 || toRank > 7) {
+            throw invalid(san);
+        }
+
+        int start = 0;
+        PieceType type = PieceType.PAWN;
+        int pieceIndex = PIECE_LETTERS.indexOf(san.charAt(0));
+        if (pieceIndex > 0) {
+            type = PIECE_TYPES[pieceIndex];
+            start = 1;
+        }
+
+        int fromColumn = -1;
+        int fromRow = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromColumn = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRow = '8' - c;
+            } else if (c != 'x' && c != ':' && c != '-') {
+                throw invalid(san);
+            }
+        }
+
+        return find(match, san, moves, 0, Bitboards.square(7 - toRank, toColumn), type, fromColumn, fromRow, promotion);
+    }
+
+    public static String toSan(ChessMatch match, int move) {
+        return toSan(match, move, new int[Move.MAX_MOVES]);
+    }
+
+    public static String toSan(ChessMatch match, int move, int[] moves) {
+        if (!match.isLegal(move)) {
+            throw new ChessException("Illegal move " + Move.toString(move));
+        }
+
+        StringBuilder sb = new StringBuilder(8);
+        int from = Move.from(move);
+        int to = Move.to(move);
+        if (Move.flags(move) == Move.KING_CASTLE) {
+            sb.append("O-O");
+        } else if (Move.flags(move) == Move.QUEEN_CASTLE) {
+            sb.append("O-O-O");
+        } else {
+            PieceType type = match.pieceTypeAt(from);
+            if (type == PieceType.PAWN) {
+                if (Move.isCapture(move)) {
+                    sb.append(file(from));
+                }
+            } else {
+                sb.append(PIECE_LETTERS.charAt(type.ordinal()));
+                appendDisambiguation(sb, match, move, type, moves);
+            }
+            if (Move.isCapture(move)) {
+                sb.append('x');
+            }
+            sb.append(file(to)).append(rank(to));
+            if (Move.isPromotion(move)) {
+                sb.append('=').append(PIECE_LETTERS.charAt(Move.promotion(move).ordinal()));
+            }
+        }
+
+        char mark = match.checkMark(move);
+        if (mark != 0) {
+            sb.append(mark);
+        }
+        return sb.toString();
+    }
+
+    private static void appendDisambiguation(StringBuilder sb, ChessMatch match, int move, PieceType type, int[] moves) {
+        int from = Move.from(move);
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        int count = match.generateLegalMoves(moves);
+        for (int i = 0; i < count; i++) {
+            int other = Move.from(moves[i]);
+            if (other != from && Move.to(moves[i]) == Move.to(move) && match.pieceTypeAt(other) == type) {
+                ambiguous = true;
+                sameFile |= Bitboards.column(other) == Bitboards.column(from);
+                sameRank |= Bitboards.row(other) == Bitboards.row(from);
+            }
+        }
+        if (!ambiguous) {
+            return;
+        }
+        if (!sameFile) {
+            sb.append(file(from));
+        } else if (!sameRank) {
+            sb.append(rank(from));
+        } else {
+            sb.append(file(from)).append(rank(from));
+        }
+    }
+
+    private static int find(ChessMatch match, CharSequence san, int[] moves, int castle, int to, PieceType type, int fromColumn, int fromRow, PieceType promotion) {
+        int found = Move.NONE;
+        int count = match.generateLegalMoves(moves);
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = Move.from(move);
+            if (castle != 0) {
+                if (Move.flags(move) != castle) {
+                    continue;
+                }
+            } else if (Move.to(move) != to || Move.isCastle(move) || match.pieceTypeAt(from) != type
+                    || Move.promotion(move) != promotion
+                    || (fromColumn >= 0 && Bitboards.column(from) != fromColumn)
+                    || (fromRow >= 0 && Bitboards.row(from) != fromRow)) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                throw new ChessException("Ambiguous move " + san);
+            }
+            found = move;
+        }
+        if (found == Move.NONE) {
+            throw new ChessException("Illegal move " + san);
+        }
+        return found;
+    }
+
+    private static int castleFlags(CharSequence san, int end) {
+        if (end != 3 && end != 5) {
+            return 0;
+        }
+        for (int i = 0; i < end; i++) {
+            char c = san.charAt(i);
+            boolean expected = (i % 2 == 1) ? c == '-' : c == 'O' || c == '0';
+            if (!expected) {
+                return 0;
+            }
+        }
+        return (end == 3) ? Move.KING_CASTLE : Move.QUEEN_CASTLE;
+    }
+
+    private static boolean isSuffix(char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    private static char file(int square) {
+        return (char)('a' + Bitboards.column(square));
+    }
+
+    private static char rank(int square) {
+        return (char)('8' - Bitboards.row(square));
+    }
+
+    private static ChessException invalid(CharSequence san) {
+        return new ChessException("Invalid SAN: " + san);
+    }
+
+}
@@ -0,0 +1,92 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ValidationReport {
+
+    static final int MAX_ERRORS = 100;
+
+    private long games;
+    private long plies;
+    private long illegalGames;
+    private long mismatchedResults;
+    private long elapsedNanos;
+    private final List<String> errors = new ArrayList<>();
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getPlies() {
+        return plies;
+    }
+
+    public long getIllegalGames() {
+        return illegalGames;
+    }
+
+    public long getMismatchedResults() {
+        return mismatchedResults;
+    }
+
+    public boolean isValid() {
+        return illegalGames == 0 && mismatchedResults == 0;
+    }
+
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getGamesPerSecond() {
+        return games * 1e9 / Math.max(1, elapsedNanos);
+    }
+
+    void addGame(int plies) {
+        games++;
+        this.plies += plies;
+    }
+
+    void addIllegal(String message) {
+        illegalGames++;
+        addError(message);
+    }
+
+    void addMismatch(String message) {
+        mismatchedResults++;
+        addError(message);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    ValidationReport merge(ValidationReport other) {
+        games += other.games;
+        plies += other.plies;
+        illegalGames += other.illegalGames;
+        mismatchedResults += other.mismatchedResults;
+        for (String error : other.errors) {
+            addError(error);
+        }
+        return this;
+    }
+
+    private void addError(String message) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return games + " games, " + plies + " plies, " + illegalGames + " with illegal moves, " + mismatchedResults + " with mismatched results, "
+                + getElapsedMillis() + " ms, " + String.format("%.0f", getGamesPerSecond()) + " games/s";
+    }
+
+}
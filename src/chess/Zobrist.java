@@ -0,0 +1,51 @@
+package chess;
+
+public final class Zobrist {
+
+    private static final long[] PIECES = new long[2 * 6 * 64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT = new long[8];
+    private static final long SIDE;
+
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < PIECES.length; i++) {
+            PIECES[i] = mix(seed += GAMMA);
+        }
+        for (int i = 0; i < CASTLING.length; i++) {
+            CASTLING[i] = mix(seed += GAMMA);
+        }
+        for (int i = 0; i < EN_PASSANT.length; i++) {
+            EN_PASSANT[i] = mix(seed += GAMMA);
+        }
+        SIDE = mix(seed + GAMMA);
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(Color color, PieceType type, int square) {
+        return PIECES[((color.ordinal() * 6) + type.ordinal()) * 64 + square];
+    }
+
+    public static long castling(int castlingRights) {
+        return CASTLING[castlingRights];
+    }
+
+    public static long enPassant(int column) {
+        return EN_PASSANT[column];
+    }
+
+    public static long side() {
+        return SIDE;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
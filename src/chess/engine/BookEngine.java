@@ -0,0 +1,39 @@
+package chess.engine;
+
+import java.util.Random;
+
+import chess.ChessMatch;
+import chess.Move;
+import chess.OpeningBook;
+
+public class BookEngine implements Engine {
+
+    private final OpeningBook book;
+    private final Engine engine;
+    private final Random random;
+
+    public BookEngine(OpeningBook book, Engine engine) {
+        this(book, engine, new Random());
+    }
+
+    public BookEngine(OpeningBook book, Engine engine, Random random) {
+        this.book = book;
+        this.engine = engine;
+        this.random = random;
+    }
+
+    @Override
+    public SearchResult bestMove(ChessMatch match, SearchLimits limits) {
+        int move = book.pickMove(match, random);
+        if (move != Move.NONE) {
+            return new SearchResult(move, 0, 0, 0, 0);
+        }
+        return engine.bestMove(match, limits);
+    }
+
+    @Override
+    public void stop() {
+        engine.stop();
+    }
+
+}
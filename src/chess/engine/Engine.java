@@ -0,0 +1,11 @@
+package chess.engine;
+
+import chess.ChessMatch;
+
+public interface Engine {
+
+    SearchResult bestMove(ChessMatch match, SearchLimits limits);
+
+    void stop();
+
+}
@@ -0,0 +1,33 @@
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.Color;
+import chess.PieceSquareTables;
+import chess.PieceType;
+
+public final class Evaluation {
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private Evaluation() {
+    }
+
+    public static int evaluate(ChessMatch match) {
+        int phase = Math.min(match.getPhase(), PieceSquareTables.MAX_PHASE);
+        int score = (match.getMidgameScore() * phase + match.getEndgameScore() * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+        return (match.getPlayer() == Color.WHITE) ? score : -score;
+    }
+
+    public static int material(ChessMatch match) {
+        int score = 0;
+        for (PieceType type : PIECE_TYPES) {
+            score += type.getValue() * (match.getPieceCount(Color.WHITE, type) - match.getPieceCount(Color.BLACK, type));
+        }
+        return (match.getPlayer() == Color.WHITE) ? score : -score;
+    }
+
+    public static int value(PieceType type) {
+        return (type != null) ? type.getValue() : 0;
+    }
+
+}
@@ -0,0 +1,394 @@
+package chess.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import chess.ChessMatch;
+import chess.Move;
+
+public class MonteCarloSearch implements Engine, AutoCloseable {
+
+    public enum TreeReuse {
+        DISCARD,
+        KEEP_SUBTREE
+    }
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private static final int WIN = 2;
+    private static final int DRAW = 1;
+    private static final int LOSS = 0;
+
+    private static final int BATCH_PER_THREAD = 4;
+    private static final int MAX_PLAYOUT_PLIES = 160;
+    private static final int DECISIVE_MATERIAL = 200;
+    private static final double EXPLORATION = 1.41;
+
+    private final TreeReuse reuse;
+    private final ForkJoinPool pool;
+    private final Playout[] playouts;
+    private final int[][] paths;
+    private final int[] pathLengths;
+    private final int[] moveBuffer = new int[Move.MAX_MOVES];
+
+    private int[] moves;
+    private int[] firstChild;
+    private short[] childCount;
+    private int[] visits;
+    private int[] halfPoints;
+    private int size;
+
+    private int[] spareMoves;
+    private int[] spareFirstChild;
+    private short[] spareChildCount;
+    private int[] spareVisits;
+    private int[] spareHalfPoints;
+
+    private ChessMatch rootMatch;
+    private int rootPly;
+    private long rootKey;
+    private int maxDepth;
+    private volatile boolean stopped;
+
+    public MonteCarloSearch(int threads, int capacity, TreeReuse reuse) {
+        if (threads < 1 || capacity < 2) {
+            throw new IllegalArgumentException("Monte Carlo search needs at least one thread and room for two nodes");
+        }
+        this.reuse = reuse;
+        this.pool = new ForkJoinPool(threads);
+
+        moves = new int[capacity];
+        firstChild = new int[capacity];
+        childCount = new short[capacity];
+        visits = new int[capacity];
+        halfPoints = new int[capacity];
+        if (reuse == TreeReuse.KEEP_SUBTREE) {
+            spareMoves = new int[capacity];
+            spareFirstChild = new int[capacity];
+            spareChildCount = new short[capacity];
+            spareVisits = new int[capacity];
+            spareHalfPoints = new int[capacity];
+        }
+
+        int batch = threads * BATCH_PER_THREAD;
+        playouts = new Playout[batch];
+        paths = new int[batch][Search.MAX_PLY + 1];
+        pathLengths = new int[batch];
+        SplittableRandom seeds = new SplittableRandom();
+        for (int i = 0; i < batch; i++) {
+            playouts[i] = new Playout(seeds.split());
+        }
+    }
+
+    public MonteCarloSearch(int threads) {
+        this(threads, DEFAULT_CAPACITY, TreeReuse.KEEP_SUBTREE);
+    }
+
+    public MonteCarloSearch() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getTreeSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return moves.length;
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public SearchResult bestMove(ChessMatch match, SearchLimits limits) {
+        if (!limits.hasTimeLimit() && !limits.hasNodeLimit()) {
+            throw new IllegalArgumentException("Monte Carlo search needs a time or node limit");
+        }
+        long start = System.nanoTime();
+        long deadline = limits.hasTimeLimit() ? start + limits.getTimeMillis() * 1_000_000L : Long.MAX_VALUE;
+        long playoutLimit = limits.hasNodeLimit() ? limits.getNodes() : Long.MAX_VALUE;
+        int depthLimit = Math.min(limits.getDepth(), Search.MAX_PLY);
+        stopped = false;
+        maxDepth = 0;
+
+        setRoot(match);
+
+        long total = 0;
+        List<Playout> batch = new ArrayList<>(playouts.length);
+        while (!stopped && total < playoutLimit && System.nanoTime() < deadline) {
+            batch.clear();
+            long remaining = playoutLimit - total;
+            for (int i = 0; i < playouts.length && i < remaining; i++) {
+                select(match, i, depthLimit);
+                batch.add(playouts[i]);
+            }
+            runPlayouts(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                backpropagate(i, playouts[i].result);
+            }
+            total += batch.size();
+        }
+
+        int best = Move.NONE;
+        int bestVisits = -1;
+        int bestChild = -1;
+        for (int child = firstChild[0], end = child + childCount[0]; child >= 0 && child < end; child++) {
+            if (visits[child] > bestVisits) {
+                best = moves[child];
+                bestVisits = visits[child];
+                bestChild = child;
+            }
+        }
+        int score = (bestChild >= 0) ? score(bestChild) : 0;
+
+        return new SearchResult(best, score, maxDepth, total, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    private void setRoot(ChessMatch match) {
+        int node = -1;
+        if (reuse == TreeReuse.KEEP_SUBTREE && size > 0 && match == rootMatch
+                && match.getPly() >= rootPly && match.hashAt(rootPly) == rootKey) {
+            node = 0;
+            for (int ply = rootPly; ply < match.getPly() && node >= 0; ply++) {
+                node = findChild(node, match.moveAt(ply));
+            }
+        }
+
+        if (node > 0) {
+            compact(node);
+        } else if (node < 0) {
+            size = 1;
+            moves[0] = Move.NONE;
+            firstChild[0] = -1;
+            childCount[0] = 0;
+            visits[0] = 0;
+            halfPoints[0] = 0;
+        }
+
+        rootMatch = match;
+        rootPly = match.getPly();
+        rootKey = match.getHash();
+    }
+
+    private int findChild(int node, int move) {
+        for (int child = firstChild[node], end = child + childCount[node]; child >= 0 && child < end; child++) {
+            if (moves[child] == move) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    private void compact(int root) {
+        spareMoves[0] = Move.NONE;
+        spareVisits[0] = visits[root];
+        spareHalfPoints[0] = halfPoints[root];
+        int next = 1;
+        for (int i = 0; i < next; i++) {
+            int old = (i == 0) ? root : spareFirstChild[i];
+            int first = firstChild[old];
+            int children = childCount[old];
+            spareChildCount[i] = (short)children;
+            if (first < 0) {
+                spareFirstChild[i] = -1;
+                continue;
+            }
+            spareFirstChild[i] = next;
+            for (int c = 0; c < children; c++) {
+                int target = next + c;
+                spareMoves[target] = moves[first + c];
+                spareVisits[target] = visits[first + c];
+                spareHalfPoints[target] = halfPoints[first + c];
+                spareFirstChild[target] = first + c;
+            }
+            next += children;
+        }
+
+        int[] oldMoves = moves;
+        int[] oldFirstChild = firstChild;
+        short[] oldChildCount = childCount;
+        int[] oldVisits = visits;
+        int[] oldHalfPoints = halfPoints;
+        moves = spareMoves;
+        firstChild = spareFirstChild;
+        childCount = spareChildCount;
+        visits = spareVisits;
+        halfPoints = spareHalfPoints;
+        spareMoves = oldMoves;
+        spareFirstChild = oldFirstChild;
+        spareChildCount = oldChildCount;
+        spareVisits = oldVisits;
+        spareHalfPoints = oldHalfPoints;
+        size = next;
+    }
+
+    private void select(ChessMatch match, int slot, int depthLimit) {
+        int[] path = paths[slot];
+        int length = 0;
+        int node = 0;
+        path[length++] = node;
+        visits[node]++;
+
+        while (firstChild[node] >= 0 && childCount[node] > 0 && length <= depthLimit) {
+            node = bestChild(node);
+            match.makeMove(moves[node]);
+            path[length++] = node;
+            visits[node]++;
+        }
+
+        if (firstChild[node] < 0 && length <= depthLimit && expand(match, node) && childCount[node] > 0) {
+            node = firstChild[node] + playouts[slot].random.nextInt(childCount[node]);
+            match.makeMove(moves[node]);
+            path[length++] = node;
+            visits[node]++;
+        }
+
+        maxDepth = Math.max(maxDepth, length - 1);
+        pathLengths[slot] = length;
+        playouts[slot].reset(match);
+
+        for (int i = length - 1; i > 0; i--) {
+            match.unmakeMove();
+        }
+    }
+
+    private boolean expand(ChessMatch match, int node) {
+        int count = match.generateLegalMoves(moveBuffer);
+        if (size + count > moves.length) {
+            return false;
+        }
+        firstChild[node] = size;
+        childCount[node] = (short)count;
+        for (int i = 0; i < count; i++) {
+            moves[size] = moveBuffer[i];
+            firstChild[size] = -1;
+            childCount[size] = 0;
+            visits[size] = 0;
+            halfPoints[size] = 0;
+            size++;
+        }
+        return true;
+    }
+
+    private int bestChild(int node) {
+        double logVisits = Math.log(Math.max(1, visits[node]));
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = firstChild[node], end = child + childCount[node]; child < end; child++) {
+            int n = visits[child];
+            if (n == 0) {
+                return child;
+            }
+            double value = halfPoints[child] / (2.0 * n) + EXPLORATION * Math.sqrt(logVisits / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private void backpropagate(int slot, int result) {
+        int[] path = paths[slot];
+        for (int i = pathLengths[slot] - 1; i >= 0; i--) {
+            result = WIN - result;
+            halfPoints[path[i]] += result;
+        }
+    }
+
+    private void runPlayouts(List<Playout> batch) {
+        if (batch.size() == 1) {
+            batch.get(0).call();
+            return;
+        }
+        try {
+            for (Future<Integer> future : pool.invokeAll(batch)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped = true;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Playout failed", e.getCause());
+        }
+    }
+
+    private int score(int node) {
+        double rate = halfPoints[node] / (2.0 * Math.max(1, visits[node]));
+        rate = Math.max(0.001, Math.min(0.999, rate));
+        return (int)Math.round(400 * Math.log10(rate / (1 - rate)));
+    }
+
+    private static final class Playout implements Callable<Integer> {
+
+        private final SplittableRandom random;
+        private final int[] moves = new int[Move.MAX_MOVES];
+        private final ChessMatch match = new ChessMatch();
+        private int result;
+
+        Playout(SplittableRandom random) {
+            this.random = random;
+        }
+
+        void reset(ChessMatch position) {
+            match.copyFrom(position);
+        }
+
+        @Override
+        public Integer call() {
+            int plies = 0;
+            int outcome = DRAW;
+            while (true) {
+                int count = match.generateLegalMoves(moves);
+                if (count == 0) {
+                    outcome = match.getCheck() ? LOSS : DRAW;
+                    break;
+                }
+                if (match.isFiftyMoveRule() || match.isInsufficientMaterial() || match.isThreefoldRepetition()) {
+                    outcome = DRAW;
+                    break;
+                }
+                if (plies == MAX_PLAYOUT_PLIES) {
+                    int material = Evaluation.material(match);
+                    outcome = (material >= DECISIVE_MATERIAL) ? WIN : (material <= -DECISIVE_MATERIAL) ? LOSS : DRAW;
+                    break;
+                }
+                match.makeMove(pick(count));
+                plies++;
+            }
+            result = (plies % 2 == 0) ? outcome : WIN - outcome;
+            return result;
+        }
+
+        private int pick(int count) {
+            if (random.nextBoolean()) {
+                int captures = 0;
+                for (int i = 0; i < count; i++) {
+                    int move = moves[i];
+                    if (Move.isCapture(move) || Move.isPromotion(move)) {
+                        moves[i] = moves[captures];
+                        moves[captures++] = move;
+                    }
+                }
+                if (captures > 0) {
+                    return moves[random.nextInt(captures)];
+                }
+            }
+            return moves[random.nextInt(count)];
+        }
+
+    }
+
+}
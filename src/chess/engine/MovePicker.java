@@ -0,0 +1,167 @@
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.Move;
+import chess.PieceType;
+
+public class MovePicker {
+
+    private static final int HASH_MOVE = 0;
+    private static final int GENERATE_TACTICAL = 1;
+    private static final int GOOD_TACTICAL = 2;
+    private static final int FIRST_KILLER = 3;
+    private static final int SECOND_KILLER = 4;
+    private static final int GENERATE_QUIET = 5;
+    private static final int QUIET = 6;
+    private static final int BAD_TACTICAL = 7;
+    private static final int DONE = 8;
+
+    private final int[] moves = new int[Move.MAX_MOVES];
+    private final int[] scores = new int[Move.MAX_MOVES];
+    private final int[] badMoves = new int[Move.MAX_MOVES];
+
+    private ChessMatch match;
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private boolean tacticalOnly;
+    private int stage;
+    private int index;
+    private int count;
+    private int badIndex;
+    private int badCount;
+
+    public void init(ChessMatch match, int hashMove, int firstKiller, int secondKiller) {
+        this.match = match;
+        this.hashMove = hashMove;
+        this.firstKiller = firstKiller;
+        this.secondKiller = secondKiller;
+        tacticalOnly = false;
+        stage = HASH_MOVE;
+        badIndex = 0;
+        badCount = 0;
+    }
+
+    public void initTactical(ChessMatch match) {
+        init(match, Move.NONE, Move.NONE, Move.NONE);
+        tacticalOnly = true;
+        stage = GENERATE_TACTICAL;
+    }
+
+    public int next() {
+        switch (stage) {
+            case HASH_MOVE:
+                stage = GENERATE_TACTICAL;
+                if (match.isLegal(hashMove)) {
+                    return hashMove;
+                }
+                return next();
+
+            case GENERATE_TACTICAL:
+                count = match.generateTacticalMoves(moves);
+                index = 0;
+                for (int i = 0; i < count; i++) {
+                    scores[i] = tacticalScore(moves[i]);
+                }
+                stage = GOOD_TACTICAL;
+                return next();
+
+            case GOOD_TACTICAL:
+                while (index < count) {
+                    int move = pickBest();
+                    if (move == hashMove) {
+                        continue;
+                    }
+                    if (isLosing(move)) {
+                        badMoves[badCount++] = move;
+                        continue;
+                    }
+                    return move;
+                }
+                stage = tacticalOnly ? DONE : FIRST_KILLER;
+                return next();
+
+            case FIRST_KILLER:
+                stage = SECOND_KILLER;
+                if (isPlayableKiller(firstKiller)) {
+                    return firstKiller;
+                }
+                return next();
+
+            case SECOND_KILLER:
+                stage = GENERATE_QUIET;
+                if (secondKiller != firstKiller && isPlayableKiller(secondKiller)) {
+                    return secondKiller;
+                }
+                return next();
+
+            case GENERATE_QUIET:
+                count = match.generateQuietMoves(moves);
+                index = 0;
+                stage = QUIET;
+                return next();
+
+            case QUIET:
+                while (index < count) {
+                    int move = moves[index++];
+                    if (move != hashMove && move != firstKiller && move != secondKiller) {
+                        return move;
+                    }
+                }
+                stage = BAD_TACTICAL;
+                return next();
+
+            case BAD_TACTICAL:
+                if (badIndex < badCount) {
+                    return badMoves[badIndex++];
+                }
+                stage = DONE;
+                return Move.NONE;
+
+            default:
+                return Move.NONE;
+        }
+    }
+
+    private int tacticalScore(int move) {
+        PieceType victim = (Move.flags(move) == Move.EN_PASSANT) ? PieceType.PAWN : match.pieceTypeAt(Move.to(move));
+        int score = 10 * Evaluation.value(victim) - Evaluation.value(match.pieceTypeAt(Move.from(move))) / 10;
+        if (Move.isPromotion(move)) {
+            score += Evaluation.value(Move.promotion(move));
+        }
+        return score;
+    }
+
+    private boolean isLosing(int move) {
+        if (!Move.isCapture(move)) {
+            return Move.promotion(move) != PieceType.QUEEN;
+        }
+        PieceType victim = (Move.flags(move) == Move.EN_PASSANT) ? PieceType.PAWN : match.pieceTypeAt(Move.to(move));
+        if (Evaluation.value(victim) >= Evaluation.value(match.pieceTypeAt(Move.from(move)))) {
+            return false;
+        }
+        return match.staticExchange(move) < 0;
+    }
+
+    private boolean isPlayableKiller(int move) {
+        return move != hashMove && !Move.isCapture(move) && !Move.isPromotion(move) && match.isLegal(move);
+    }
+
+    private int pickBest() {
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves[best];
+        moves[best] = moves[index];
+        moves[index] = move;
+        int score = scores[best];
+        scores[best] = scores[index];
+        scores[index] = score;
+        index++;
+        return move;
+    }
+
+}
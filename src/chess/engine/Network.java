@@ -0,0 +1,103 @@
+package chess.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class Network {
+
+    public static final int FEATURES = 2 * 6 * 64;
+    public static final int ACTIVATION_SCALE = 255;
+    public static final int WEIGHT_SCALE = 64;
+    public static final int OUTPUT_SCALE = 400;
+    public static final int MAX_OUTPUT = Search.MATE - 10000;
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !Boolean.getBoolean("chess.scalar") && NetworkVectors.isSupported();
+
+    private final int hiddenSize;
+    private final short[] featureWeights;
+    private final short[] featureBiases;
+    private final short[] outputWeights;
+    private final int outputBias;
+
+    public Network(int hiddenSize, short[] featureWeights, short[] featureBiases, short[] outputWeights, int outputBias) {
+        if (hiddenSize < 1 || featureWeights.length != FEATURES * hiddenSize || featureBiases.length != hiddenSize || outputWeights.length != 2 * hiddenSize) {
+            throw new IllegalArgumentException("Network weights do not match a hidden layer of " + hiddenSize);
+        }
+        this.hiddenSize = hiddenSize;
+        this.featureWeights = featureWeights;
+        this.featureBiases = featureBiases;
+        this.outputWeights = outputWeights;
+        this.outputBias = outputBias;
+    }
+
+    public static Network load(Path path) throws IOException {
+        ShortBuffer data = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+        int values = data.remaining();
+        if (values < FEATURES + 4 || (values - 1) % (FEATURES + 3) != 0) {
+            throw new IOException("Invalid network file " + path + ": " + values + " weights");
+        }
+        int hiddenSize = (values - 1) / (FEATURES + 3);
+        short[] featureWeights = new short[FEATURES * hiddenSize];
+        short[] featureBiases = new short[hiddenSize];
+        short[] outputWeights = new short[2 * hiddenSize];
+        data.get(featureWeights).get(featureBiases).get(outputWeights);
+        return new Network(hiddenSize, featureWeights, featureBiases, outputWeights, data.get());
+    }
+
+    public int getHiddenSize() {
+        return hiddenSize;
+    }
+
+    short[] featureBiases() {
+        return featureBiases;
+    }
+
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    void addFeature(short[] accumulator, int offset, int feature) {
+        int base = feature * hiddenSize;
+        if (VECTORIZED) {
+            NetworkVectors.add(accumulator, offset, featureWeights, base, hiddenSize);
+            return;
+        }
+        for (int i = 0; i < hiddenSize; i++) {
+            accumulator[offset + i] += featureWeights[base + i];
+        }
+    }
+
+    void removeFeature(short[] accumulator, int offset, int feature) {
+        int base = feature * hiddenSize;
+        if (VECTORIZED) {
+            NetworkVectors.subtract(accumulator, offset, featureWeights, base, hiddenSize);
+            return;
+        }
+        for (int i = 0; i < hiddenSize; i++) {
+            accumulator[offset + i] -= featureWeights[base + i];
+        }
+    }
+
+    int output(short[] accumulator, int us, int them) {
+        long sum = 0;
+        if (VECTORIZED) {
+            sum += NetworkVectors.dot(accumulator, us, outputWeights, 0, hiddenSize, ACTIVATION_SCALE);
+            sum += NetworkVectors.dot(accumulator, them, outputWeights, hiddenSize, hiddenSize, ACTIVATION_SCALE);
+        } else {
+            for (int i = 0; i < hiddenSize; i++) {
+                sum += Math.min(Math.max(accumulator[us + i], 0), ACTIVATION_SCALE) * outputWeights[i];
+            }
+            for (int i = 0; i < hiddenSize; i++) {
+                sum += Math.min(Math.max(accumulator[them + i], 0), ACTIVATION_SCALE) * outputWeights[hiddenSize + i];
+            }
+        }
+        long value = (sum + outputBias) * OUTPUT_SCALE / (ACTIVATION_SCALE * WEIGHT_SCALE);
+        return (int)Math.min(Math.max(value, -MAX_OUTPUT), MAX_OUTPUT);
+    }
+
+}
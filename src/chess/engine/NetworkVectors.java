@@ -0,0 +1,74 @@
+package chess.engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+final class NetworkVectors {
+
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> HALF_SHORTS = (INTS.vectorBitSize() >= 128)
+            ? VectorSpecies.of(short.class, VectorShape.forBitSize(INTS.vectorBitSize() / 2)) : null;
+    private static final int BLOCK = 256;
+
+    private NetworkVectors() {
+    }
+
+    static boolean isSupported() {
+        return HALF_SHORTS != null;
+    }
+
+    static void add(short[] accumulator, int offset, short[] weights, int base, int size) {
+        int i = 0;
+        for (int bound = SHORTS.loopBound(size); i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, accumulator, offset + i)
+                    .add(ShortVector.fromArray(SHORTS, weights, base + i))
+                    .intoArray(accumulator, offset + i);
+        }
+        for (; i < size; i++) {
+            accumulator[offset + i] += weights[base + i];
+        }
+    }
+
+    static void subtract(short[] accumulator, int offset, short[] weights, int base, int size) {
+        int i = 0;
+        for (int bound = SHORTS.loopBound(size); i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, accumulator, offset + i)
+                    .sub(ShortVector.fromArray(SHORTS, weights, base + i))
+                    .intoArray(accumulator, offset + i);
+        }
+        for (; i < size; i++) {
+            accumulator[offset + i] -= weights[base + i];
+        }
+    }
+
+    static long dot(short[] accumulator, int offset, short[] weights, int base, int size, int activationScale) {
+        long sum = 0;
+        IntVector lanes = IntVector.zero(INTS);
+        int blocks = 0;
+        int i = 0;
+        for (int bound = HALF_SHORTS.loopBound(size); i < bound; i += HALF_SHORTS.length()) {
+            IntVector activation = (IntVector)ShortVector.fromArray(HALF_SHORTS, accumulator, offset + i)
+                    .max((short)0)
+                    .min((short)activationScale)
+                    .convertShape(VectorOperators.S2I, INTS, 0);
+            IntVector weight = (IntVector)ShortVector.fromArray(HALF_SHORTS, weights, base + i)
+                    .convertShape(VectorOperators.S2I, INTS, 0);
+            lanes = lanes.add(activation.mul(weight));
+            if (++blocks == BLOCK) {
+                sum += lanes.reduceLanesToLong(VectorOperators.ADD);
+                lanes = IntVector.zero(INTS);
+                blocks = 0;
+            }
+        }
+        sum += lanes.reduceLanesToLong(VectorOperators.ADD);
+        for (; i < size; i++) {
+            sum += Math.min(Math.max(accumulator[offset + i], 0), activationScale) * weights[base + i];
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,117 @@
+package chess.engine;
+
+import chess.BoardListener;
+import chess.ChessMatch;
+import chess.ChessPiece;
+import chess.Color;
+import chess.PieceType;
+
+public class NeuralEvaluator implements BoardListener {
+
+    private static final int INITIAL_DEPTH = 256;
+
+    private final Network network;
+    private final int hiddenSize;
+    private short[][] stack;
+    private int top;
+    private boolean stale;
+    private ChessMatch match;
+
+    public NeuralEvaluator(Network network) {
+        this.network = network;
+        this.hiddenSize = network.getHiddenSize();
+        this.stack = new short[INITIAL_DEPTH][2 * hiddenSize];
+    }
+
+    public void attach(ChessMatch match) {
+        detach();
+        this.match = match;
+        refresh();
+        match.setBoardListener(this);
+    }
+
+    public void detach() {
+        if (match != null) {
+            match.setBoardListener(null);
+            match = null;
+        }
+    }
+
+    public void refresh() {
+        top = 0;
+        stale = false;
+        short[] accumulator = stack[0];
+        System.arraycopy(network.featureBiases(), 0, accumulator, 0, hiddenSize);
+        System.arraycopy(network.featureBiases(), 0, accumulator, hiddenSize, hiddenSize);
+        ChessPiece[][] pieces = match.getPieces();
+        for (int row = 0; row < pieces.length; row++) {
+            for (int column = 0; column < pieces[row].length; column++) {
+                ChessPiece piece = pieces[row][column];
+                if (piece != null) {
+                    pieceAdded(piece.getColor(), piece.getType(), row * 8 + column);
+                }
+            }
+        }
+    }
+
+    public int evaluate() {
+        if (stale) {
+            refresh();
+        }
+        boolean white = match.getPlayer() == Color.WHITE;
+        return network.output(stack[top], white ? 0 : hiddenSize, white ? hiddenSize : 0);
+    }
+
+    @Override
+    public void pieceAdded(Color color, PieceType type, int square) {
+        if (stale) {
+            return;
+        }
+        short[] accumulator = stack[top];
+        network.addFeature(accumulator, 0, feature(Color.WHITE, color, type, square));
+        network.addFeature(accumulator, hiddenSize, feature(Color.BLACK, color, type, square));
+    }
+
+    @Override
+    public void pieceRemoved(Color color, PieceType type, int square) {
+        if (stale) {
+            return;
+        }
+        short[] accumulator = stack[top];
+        network.removeFeature(accumulator, 0, feature(Color.WHITE, color, type, square));
+        network.removeFeature(accumulator, hiddenSize, feature(Color.BLACK, color, type, square));
+    }
+
+    @Override
+    public void moveStarted() {
+        if (stale) {
+            refresh();
+        }
+        if (top + 1 == stack.length) {
+            short[][] grown = new short[stack.length * 2][];
+            System.arraycopy(stack, 0, grown, 0, stack.length);
+            for (int i = stack.length; i < grown.length; i++) {
+                grown[i] = new short[2 * hiddenSize];
+            }
+            stack = grown;
+        }
+        System.arraycopy(stack[top], 0, stack[top + 1], 0, 2 * hiddenSize);
+        top++;
+    }
+
+    @Override
+    public void moveUndone() {
+        if (top > 0) {
+            top--;
+        } else {
+            stale = true;
+        }
+    }
+
+    private static int feature(Color perspective, Color color, PieceType type, int square) {
+        int side = (color == perspective) ? 0 : 6;
+        int relative = (perspective == Color.WHITE) ? square ^ 56 : square;
+        return ((side + type.ordinal()) * 64) + relative;
+    }
+
+}
@@ -0,0 +1,101 @@
+package chess.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import chess.ChessMatch;
+
+public class ParallelSearch implements Engine, AutoCloseable {
+
+    private final TranspositionTable table;
+    private final Search[] searches;
+    private final ExecutorService helpers;
+
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Parallel search needs at least one thread");
+        }
+        this.table = table;
+        this.searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(table);
+        }
+        this.helpers = (threads > 1) ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public ParallelSearch(int threads) {
+        this(threads, new TranspositionTable(64));
+    }
+
+    public void setNetwork(Network network) {
+        for (Search search : searches) {
+            search.setNetwork(network);
+        }
+    }
+
+    public int getThreads() {
+        return searches.length;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    @Override
+    public SearchResult bestMove(ChessMatch match, SearchLimits limits) {
+        table.newSearch();
+        for (Search search : searches) {
+            search.resume();
+        }
+
+        SearchLimits helperLimits = new SearchLimits(limits.getDepth(), limits.getTimeMillis(), 0);
+        List<Future<SearchResult>> results = new ArrayList<>();
+        for (int i = 1; i < searches.length; i++) {
+            Search helper = searches[i];
+            ChessMatch copy = new ChessMatch(match);
+            int depthOffset = i % 2;
+            results.add(helpers.submit(() -> helper.search(copy, helperLimits, depthOffset)));
+        }
+
+        SearchResult main = searches[0].search(match, limits, 0);
+        for (int i = 1; i < searches.length; i++) {
+            searches[i].stop();
+        }
+
+        long nodes = main.getNodes();
+        for (Future<SearchResult> result : results) {
+            try {
+                nodes += result.get().getNodes();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search helper failed", e.getCause());
+            }
+        }
+
+        return new SearchResult(main.getBestMove(), main.getScore(), main.getDepth(), nodes, main.getElapsedMillis());
+    }
+
+    @Override
+    public void stop() {
+        for (Search search : searches) {
+            search.stop();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package chess.engine;
+
+public enum ReplacementPolicy {
+
+    ALWAYS_REPLACE {
+        @Override
+        int priority(int depth, int age) {
+            return 0;
+        }
+
+        @Override
+        boolean replaces(int depth, int bound, int storedDepth, int age) {
+            return true;
+        }
+    },
+
+    DEPTH_PREFERRED {
+        @Override
+        int priority(int depth, int age) {
+            return depth;
+        }
+
+        @Override
+        boolean replaces(int depth, int bound, int storedDepth, int age) {
+            return bound == TranspositionTable.EXACT || depth >= storedDepth;
+        }
+    },
+
+    AGED_DEPTH_PREFERRED {
+        @Override
+        int priority(int depth, int age) {
+            return depth - 4 * age;
+        }
+
+        @Override
+        boolean replaces(int depth, int bound, int storedDepth, int age) {
+            return bound == TranspositionTable.EXACT || age != 0 || depth >= storedDepth - 2;
+        }
+    };
+
+    abstract int priority(int depth, int age);
+
+    abstract boolean replaces(int depth, int bound, int storedDepth, int age);
+
+}
@@ -0,0 +1,291 @@
+package chess.engine;
+
+import chess.ChessMatch;
+import chess.Move;
+
+public class Search implements Engine {
+
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000;
+    public static final int MAX_PLY = 128;
+
+    private static final int MATE_BOUND = MATE - MAX_PLY;
+    private static final int TIME_CHECK_INTERVAL = 1023;
+
+    private final TranspositionTable table;
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY + 1];
+    private final int[] rootMoves = new int[Move.MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+
+    private ChessMatch match;
+    private NeuralEvaluator neural;
+    private long nodes;
+    private long deadline;
+    private long nodeLimit;
+    private int rootBestMove;
+    private volatile boolean stopped;
+
+    public Search() {
+        this(new TranspositionTable(16));
+    }
+
+    public Search(TranspositionTable table) {
+        this.table = table;
+        for (int i = 0; i < pickers.length; i++) {
+            pickers[i] = new MovePicker();
+        }
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public void setNetwork(Network network) {
+        neural = (network != null) ? new NeuralEvaluator(network) : null;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    void resume() {
+        stopped = false;
+    }
+
+    @Override
+    public SearchResult bestMove(ChessMatch match, SearchLimits limits) {
+        table.newSearch();
+        resume();
+        return search(match, limits, 0);
+    }
+
+    SearchResult search(ChessMatch match, SearchLimits limits, int depthOffset) {
+        long start = System.nanoTime();
+        this.match = match;
+        if (neural != null) {
+            neural.attach(match);
+        }
+        nodes = 0;
+        deadline = limits.hasTimeLimit() ? start + limits.getTimeMillis() * 1_000_000L : Long.MAX_VALUE;
+        nodeLimit = limits.hasNodeLimit() ? limits.getNodes() : Long.MAX_VALUE;
+        for (int[] killer : killers) {
+            killer[0] = Move.NONE;
+            killer[1] = Move.NONE;
+        }
+
+        int bestMove = Move.NONE;
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = 1 + depthOffset; depth <= limits.getDepth(); depth++) {
+            rootBestMove = Move.NONE;
+            int score = search(depth, 0, -INFINITY, INFINITY);
+            if (stopped) {
+                if (bestMove == Move.NONE) {
+                    bestMove = rootBestMove;
+                }
+                break;
+            }
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+            if (Math.abs(score) >= MATE_BOUND) {
+                break;
+            }
+        }
+
+        if (bestMove == Move.NONE && match.generateLegalMoves(rootMoves) > 0) {
+            bestMove = rootMoves[0];
+        }
+
+        if (neural != null) {
+            neural.detach();
+        }
+
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    private int evaluate() {
+        return (neural != null) ? neural.evaluate() : Evaluation.evaluate(match);
+    }
+
+    private int search(int depth, int ply, int alpha, int beta) {
+        boolean inCheck = match.getCheck();
+        if (inCheck) {
+            depth++;
+        }
+        if (depth <= 0) {
+            return quiescence(ply, alpha, beta);
+        }
+
+        countNode();
+        if (stopped) {
+            return 0;
+        }
+        if (ply > 0 && (match.isFiftyMoveRule() || match.isRepetition() || match.isInsufficientMaterial())) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return evaluate();
+        }
+
+        long key = match.getHash();
+        long entry = table.probe(key);
+        int tableMove = Move.NONE;
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MovePicker picker = pickers[ply];
+        picker.init(match, tableMove, killers[ply][0], killers[ply][1]);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        int searched = 0;
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            match.makeMove(move);
+            int score;
+            if (searched++ == 0) {
+                score = -search(depth - 1, ply + 1, -beta, -alpha);
+            } else {
+                score = -search(depth - 1, ply + 1, -alpha - 1, -alpha);
+                if (score > alpha && score < beta) {
+                    score = -search(depth - 1, ply + 1, -beta, -alpha);
+                }
+            }
+            match.unmakeMove();
+
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        if (!Move.isCapture(move) && killers[ply][0] != move) {
+                            killers[ply][1] = killers[ply][0];
+                            killers[ply][0] = move;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (searched == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+
+        int bound;
+        if (bestScore >= beta) {
+            bound = TranspositionTable.LOWER_BOUND;
+        } else if (bestScore > originalAlpha) {
+            bound = TranspositionTable.EXACT;
+        } else {
+            bound = TranspositionTable.UPPER_BOUND;
+        }
+        table.store(key, bestMove, toTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    private int quiescence(int ply, int alpha, int beta) {
+        countNode();
+        if (stopped) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return evaluate();
+        }
+
+        boolean inCheck = match.getCheck();
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            bestScore = evaluate();
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            if (bestScore > alpha) {
+                alpha = bestScore;
+            }
+        }
+
+        MovePicker picker = pickers[ply];
+        if (inCheck) {
+            picker.init(match, Move.NONE, Move.NONE, Move.NONE);
+        } else {
+            picker.initTactical(match);
+        }
+
+        int searched = 0;
+        for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+            searched++;
+            match.makeMove(move);
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            match.unmakeMove();
+
+            if (stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (inCheck && searched == 0) {
+            return -MATE + ply;
+        }
+        return bestScore;
+    }
+
+    private void countNode() {
+        nodes++;
+        if (nodes >= nodeLimit || ((nodes & TIME_CHECK_INTERVAL) == 0 && System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+    }
+
+    private static int toTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+}
@@ -0,0 +1,52 @@
+package chess.engine;
+
+public class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+
+    private final int depth;
+    private final long timeMillis;
+    private final long nodes;
+
+    public SearchLimits(int depth, long timeMillis, long nodes) {
+        if (depth < 1 || timeMillis < 0 || nodes < 0) {
+            throw new IllegalArgumentException("Invalid search limits");
+        }
+        this.depth = Math.min(depth, MAX_DEPTH);
+        this.timeMillis = timeMillis;
+        this.nodes = nodes;
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    public static SearchLimits time(long timeMillis) {
+        return new SearchLimits(MAX_DEPTH, timeMillis, 0);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, 0, nodes);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public boolean hasTimeLimit() {
+        return timeMillis > 0;
+    }
+
+    public boolean hasNodeLimit() {
+        return nodes > 0;
+    }
+
+}
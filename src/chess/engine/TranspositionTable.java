@@ -0,0 +1,158 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_LONGS = ENTRY_LONGS * BUCKET_ENTRIES;
+    private static final long BYTES_PER_BUCKET = BUCKET_LONGS * Long.BYTES;
+
+    private static final int SCORE_SHIFT = 20;
+    private static final int DEPTH_SHIFT = 36;
+    private static final int BOUND_SHIFT = 44;
+    private static final int AGE_SHIFT = 46;
+
+    private final long[] table;
+    private final long bucketMask;
+    private final ReplacementPolicy policy;
+    private volatile int age;
+    private int nextVictim;
+
+    public TranspositionTable(int megabytes) {
+        this(megabytes, ReplacementPolicy.AGED_DEPTH_PREFERRED);
+    }
+
+    public TranspositionTable(int megabytes, ReplacementPolicy policy) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB");
+        }
+        long buckets = Long.highestOneBit((megabytes * 1024L * 1024L) / BYTES_PER_BUCKET);
+        if (buckets * BUCKET_LONGS > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Transposition table of " + megabytes + " MB is too large");
+        }
+        this.table = new long[(int)(buckets * BUCKET_LONGS)];
+        this.bucketMask = buckets - 1;
+        this.policy = policy;
+    }
+
+    public long getSizeInBytes() {
+        return (long)table.length * Long.BYTES;
+    }
+
+    public int getCapacity() {
+        return table.length / ENTRY_LONGS;
+    }
+
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+        age = 0;
+    }
+
+    public long probe(long key) {
+        int bucket = bucket(key);
+        for (int i = bucket; i < bucket + BUCKET_LONGS; i += ENTRY_LONGS) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == key && data != 0) {
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int bucket = bucket(key);
+        int currentAge = age;
+        int victim = -1;
+
+        for (int i = bucket; i < bucket + BUCKET_LONGS; i += ENTRY_LONGS) {
+            long data = table[i + 1];
+            if (data == 0) {
+                if (victim < 0) {
+                    victim = i;
+                }
+            } else if ((table[i] ^ data) == key) {
+                if (!policy.replaces(depth, bound, depth(data), (currentAge - age(data)) & 0xFF)) {
+                    return;
+                }
+                if (move == 0) {
+                    move = move(data);
+                }
+                victim = i;
+                break;
+            }
+        }
+
+        if (victim < 0) {
+            int first = nextVictim++;
+            int lowestPriority = Integer.MAX_VALUE;
+            for (int n = 0; n < BUCKET_ENTRIES; n++) {
+                int i = bucket + ((first + n) & (BUCKET_ENTRIES - 1)) * ENTRY_LONGS;
+                long data = table[i + 1];
+                int priority = policy.priority(depth(data), (currentAge - age(data)) & 0xFF);
+                if (priority < lowestPriority) {
+                    lowestPriority = priority;
+                    victim = i;
+                }
+            }
+        }
+
+        long data = (move & 0xFFFFFL)
+                | ((score & 0xFFFFL) << SCORE_SHIFT)
+                | ((long)Math.min(Math.max(depth, 0), 0xFF) << DEPTH_SHIFT)
+                | ((long)bound << BOUND_SHIFT)
+                | ((long)currentAge << AGE_SHIFT);
+        table[victim] = key ^ data;
+        table[victim + 1] = data;
+    }
+
+    public int hashfull() {
+        int used = 0;
+        int sample = Math.min(1000, getCapacity());
+        for (int i = 0; i < sample; i++) {
+            long data = table[i * ENTRY_LONGS + 1];
+            if (data != 0 && age(data) == age) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public static int move(long data) {
+        return (int)(data & 0xFFFFF);
+    }
+
+    public static int score(long data) {
+        return (short)(data >>> SCORE_SHIFT);
+    }
+
+    public static int depth(long data) {
+        return (int)((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int)((data >>> BOUND_SHIFT) & 0x3);
+    }
+
+    private static int age(long data) {
+        return (int)((data >>> AGE_SHIFT) & 0xFF);
+    }
+
+    private int bucket(long key) {
+        return (int)(key & bucketMask) * BUCKET_LONGS;
+    }
+
+}
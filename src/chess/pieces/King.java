@@ -1,16 +1,18 @@
 package chess.pieces;
 
-import boardgame.Board;
-import boardgame.Position;
+import chess.Bitboards;
+import chess.ChessBoard;
 import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.Color;
+import chess.Move;
+import chess.PieceType;
 
 public class King extends ChessPiece {
 
     private ChessMatch chessMatch;
 
-    public King(Board board, Color color, ChessMatch chessMatch) {
+    public King(ChessBoard board, Color color, ChessMatch chessMatch) {
         super(board, color);
         this.chessMatch = chessMatch;
     }
@@ -20,84 +22,54 @@ public class King extends ChessPiece {
         return "K";
     }
 
-    private boolean canMove(Position position) {
-        ChessPiece p = (ChessPiece)getBoard().piece(position);
-        return p == null || p.getColor() != getColor();
+    @Override
+    public PieceType getType() {
+        return PieceType.KING;
     }
 
-    private boolean rookCastling(Position position) {
-        ChessPiece p = (ChessPiece)getBoard().piece(position);
-        return p != null && p instanceof Rook && p.getColor() == getColor() && p.getMoveCount() == 0;
+    private boolean rookCastling(int square) {
+        ChessPiece p = getBoard().piece(square);
+        return p != null && p instanceof Rook && p.getColor() == getColor();
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
-
-        Position p = new Position(0, 0);
-
-        p.setValues(position.getRow() - 1, position.getColumn());
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 1, position.getColumn());
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() - 1, position.getColumn() - 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 1, position.getColumn() + 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() - 1, position.getColumn() + 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 1, position.getColumn() - 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow(), position.getColumn() - 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow(), position.getColumn() + 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        if (getMoveCount() == 0 && !chessMatch.getCheck()) {
-            Position posRook1 = new Position(position.getRow(), position.getColumn() + 3);
-            if (rookCastling(posRook1)) {
-                Position p1 = new Position(position.getRow(), position.getColumn() + 1);
-                Position p2 = new Position(position.getRow(), position.getColumn() + 2);
-                if (getBoard().piece(p1) == null && getBoard().piece(p2) == null) {
-                    mat[position.getRow()][position.getColumn() + 2] = true;
+    public long possibleMovesMask() {
+        ChessBoard board = getBoard();
+        int square = getSquare();
+        long mask = Bitboards.KING_ATTACKS[square] & notOwnPieces();
+
+        Color opponent = opponentColor();
+        if ((chessMatch.canCastle(getColor(), true) || chessMatch.canCastle(getColor(), false)) && !board.isSquareAttacked(square, opponent)) {
+            long occupied = board.getOccupied();
+            int column = Bitboards.column(square);
+
+            if (chessMatch.canCastle(getColor(), true) && column + 3 < 8 && rookCastling(square + 3)) {
+                long between = Bitboards.bit(square + 1) | Bitboards.bit(square + 2);
+                if ((occupied & between) == 0 && !board.isSquareAttacked(square + 1, opponent) && !board.isSquareAttacked(square + 2, opponent)) {
+                    mask |= Bitboards.bit(square + 2);
                 }
             }
 
-            Position posRook2 = new Position(position.getRow(), position.getColumn() - 4);
-            if (rookCastling(posRook2)) {
-                Position p1 = new Position(position.getRow(), position.getColumn() - 1);
-                Position p2 = new Position(position.getRow(), position.getColumn() - 2);
-                Position p3 = new Position(position.getRow(), position.getColumn() - 3);
-                if (getBoard().piece(p1) == null && getBoard().piece(p2) == null && getBoard().piece(p3) == null) {
-                    mat[position.getRow()][position.getColumn() - 2] = true;
+            if (chessMatch.canCastle(getColor(), false) && column - 4 >= 0 && rookCastling(square - 4)) {
+                long between = Bitboards.bit(square - 1) | Bitboards.bit(square - 2) | Bitboards.bit(square - 3);
+                if ((occupied & between) == 0 && !board.isSquareAttacked(square - 1, opponent) && !board.isSquareAttacked(square - 2, opponent)) {
+                    mask |= Bitboards.bit(square - 2);
                 }
             }
         }
 
-        return mat;
+        return mask;
+    }
+
+    @Override
+    protected int moveFlags(int from, int to) {
+        if (to == from + 2) {
+            return Move.KING_CASTLE;
+        }
+        if (to == from - 2) {
+            return Move.QUEEN_CASTLE;
+        }
+        return super.moveFlags(from, to);
     }
     
-}
\ No newline at end of file
+}
@@ -1,13 +1,14 @@
 package chess.pieces;
 
-import boardgame.Board;
-import boardgame.Position;
+import chess.Bitboards;
+import chess.ChessBoard;
 import chess.ChessPiece;
 import chess.Color;
+import chess.PieceType;
 
 public class Knight extends ChessPiece {
 
-    public Knight(Board board, Color color) {
+    public Knight(ChessBoard board, Color color) {
         super(board, color);
     }
 
@@ -16,58 +17,14 @@ public class Knight extends ChessPiece {
         return "H";
     }
 
-    private boolean canMove(Position position) {
-        ChessPiece p = (ChessPiece)getBoard().piece(position);
-        return p == null || p.getColor() != getColor();
+    @Override
+    public PieceType getType() {
+        return PieceType.KNIGHT;
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
-
-        Position p = new Position(0, 0);
-
-        p.setValues(position.getRow() - 2, position.getColumn() - 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() - 2, position.getColumn() + 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 2, position.getColumn() - 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 2, position.getColumn() + 1);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 1, position.getColumn() - 2);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() - 1, position.getColumn() - 2);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() + 1, position.getColumn() + 2);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        p.setValues(position.getRow() - 1, position.getColumn() + 2);
-        if ((getBoard().positionExists(p) && canMove(p))) {
-            mat[p.getRow()][p.getColumn()] = true;
-        }
-
-        return mat;
+    public long possibleMovesMask() {
+        return Bitboards.KNIGHT_ATTACKS[getSquare()] & notOwnPieces();
     }
     
-}
\ No newline at end of file
+}
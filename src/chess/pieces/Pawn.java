@@ -1,16 +1,18 @@
 package chess.pieces;
 
-import boardgame.Board;
-import boardgame.Position;
+import chess.Bitboards;
+import chess.ChessBoard;
 import chess.ChessMatch;
 import chess.ChessPiece;
 import chess.Color;
+import chess.Move;
+import chess.PieceType;
 
 public class Pawn extends ChessPiece {
 
     private ChessMatch chessMatch;
 
-    public Pawn(Board board, Color color, ChessMatch chessMatch) {
+    public Pawn(ChessBoard board, Color color, ChessMatch chessMatch) {
         super(board, color);
         this.chessMatch = chessMatch;
     }
@@ -21,74 +23,71 @@ public class Pawn extends ChessPiece {
     }
 
     @Override
-    public boolean[][] possibleMoves() {
-        boolean[][] mat = new boolean[getBoard().getRows()][getBoard().getColumns()];
-
-        Position p = new Position(0, 0);
+    public PieceType getType() {
+        return PieceType.PAWN;
+    }
 
-        if (this.getColor() == Color.WHITE) {
-            p.setValues(position.getRow() - 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p.setValues(position.getRow() - 2, position.getColumn());
-            Position p2 = new Position(position.getRow() - 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p) && getBoard().positionExists(p2) && !getBoard().thereIsAPiece(p2) && getMoveCount() == 0) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p.setValues(position.getRow() - 1, position.getColumn() - 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p.setValues(position.getRow() - 1, position.getColumn() + 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
+    @Override
+    public long possibleMovesMask() {
+        ChessBoard board = getBoard();
+        int square = getSquare();
+        int forward = (getColor() == Color.WHITE) ? -8 : 8;
+        int startRow = (getColor() == Color.WHITE) ? 6 : 1;
+        int enPassantRow = (getColor() == Color.WHITE) ? 3 : 4;
+        long empty = ~board.getOccupied();
+        long mask = 0L;
 
-            if (position.getRow() == 3) {
-                Position left = new Position(position.getRow(), position.getColumn() - 1);
-                if (getBoard().positionExists(left) && isThereOpponentPiece(left) && getBoard().piece(left) == chessMatch.getEnPassant()) {
-                    mat[left.getRow() - 1][left.getColumn()] = true;
-                } 
-                Position right = new Position(position.getRow(), position.getColumn() + 1);
-                if (getBoard().positionExists(right) && isThereOpponentPiece(right) && getBoard().piece(right) == chessMatch.getEnPassant()) {
-                    mat[right.getRow() - 1][right.getColumn()] = true;
-                } 
+        int oneStep = square + forward;
+        if (oneStep >= 0 && oneStep < 64 && Bitboards.contains(empty, oneStep)) {
+            mask |= Bitboards.bit(oneStep);
+            int twoSteps = oneStep + forward;
+            if (Bitboards.row(square) == startRow && Bitboards.contains(empty, twoSteps)) {
+                mask |= Bitboards.bit(twoSteps);
             }
         }
 
-        if (this.getColor() == Color.BLACK) {
-            p.setValues(position.getRow() + 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p.setValues(position.getRow() + 2, position.getColumn());
-            Position p2 = new Position(position.getRow() + 1, position.getColumn());
-            if (getBoard().positionExists(p) && !getBoard().thereIsAPiece(p) && getBoard().positionExists(p2) && !getBoard().thereIsAPiece(p2) && getMoveCount() == 0) {
-                mat[p.getRow()][p.getColumn()] = true;
-            }
-            p.setValues(position.getRow() + 1, position.getColumn() + 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
+        mask |= Bitboards.PAWN_ATTACKS[getColor().ordinal()][square] & board.getPieces(opponentColor());
+
+        ChessPiece enPassant = chessMatch.getEnPassant();
+        if (enPassant != null && Bitboards.row(square) == enPassantRow) {
+            int column = Bitboards.column(square);
+            if (column > 0 && board.piece(square - 1) == enPassant && enPassant.getColor() != getColor()) {
+                mask |= Bitboards.bit(square - 1 + forward);
             }
-            p.setValues(position.getRow() + 1, position.getColumn() - 1);
-            if (getBoard().positionExists(p) && isThereOpponentPiece(p)) {
-                mat[p.getRow()][p.getColumn()] = true;
+            if (column < 7 && board.piece(square + 1) == enPassant && enPassant.getColor() != getColor()) {
+                mask |= Bitboards.bit(square + 1 + forward);
             }
+        }
+
+        return mask;
+    }
 
-            if (position.getRow() == 4) {
-                Position left = new Position(position.getRow(), position.getColumn() - 1);
-                if (getBoard().positionExists(left) && isThereOpponentPiece(left) && getBoard().piece(left) == chessMatch.getEnPassant()) {
-                    mat[left.getRow() + 1][left.getColumn()] = true;
-                } 
-                Position right = new Position(position.getRow(), position.getColumn() + 1);
-                if (getBoard().positionExists(right) && isThereOpponentPiece(right) && getBoard().piece(right) == chessMatch.getEnPassant()) {
-                    mat[right.getRow() + 1][right.getColumn()] = true;
-                } 
+    @Override
+    public int possibleMoves(int[] moves, int count) {
+        int from = getSquare();
+        long targets = possibleMovesMask();
+        while (targets != 0) {
+            int to = Bitboards.first(targets);
+            int flags = moveFlags(from, to);
+            if (Bitboards.row(to) == 0 || Bitboards.row(to) == 7) {
+                moves[count++] = Move.of(from, to, flags, PieceType.QUEEN);
+                moves[count++] = Move.of(from, to, flags, PieceType.ROOK);
+                moves[count++] = Move.of(from, to, flags, PieceType.BISHOP);
+                moves[count++] = Move.of(from, to, flags, PieceType.KNIGHT);
+            } else {
+                moves[count++] = Move.of(from, to, flags);
             }
+            targets &= targets - 1;
         }
+        return count;
+    }
 
-        return mat;
+    @Override
+    protected int moveFlags(int from, int to) {
+        if (Bitboards.column(from) != Bitboards.column(to)) {
+            return getBoard().thereIsAPiece(to) ? Move.CAPTURE : Move.EN_PASSANT;
+        }
+        return (to - from == 16 || from - to == 16) ? Move.DOUBLE_PAWN_PUSH : Move.QUIET;
     }
     
 }